@@ -1,24 +1,17 @@
 package org.poo.bank;
 
 import lombok.Getter;
-import lombok.Setter;
 import org.poo.bank.account.Account;
-import org.poo.bank.commands.account_commands.*;
-import org.poo.bank.commands.account_commands.card_commands.CheckCardStatus;
-import org.poo.bank.commands.account_commands.card_commands.CreateCard;
-import org.poo.bank.commands.account_commands.card_commands.CreateOneTimeCard;
-import org.poo.bank.commands.account_commands.card_commands.DeleteCard;
-import org.poo.bank.commands.pay_commands.AcceptSplitPayment;
-import org.poo.bank.commands.pay_commands.PayOnline;
-import org.poo.bank.commands.pay_commands.SendMoney;
-import org.poo.bank.commands.pay_commands.SplitPayment;
-import org.poo.bank.commands.plan_commands.UpgradePlan;
-import org.poo.bank.commands.print_commands.PrintTransactions;
-import org.poo.bank.commands.print_commands.PrintUsers;
-import org.poo.bank.commands.report_commands.AbstractReportCommand;
-import org.poo.bank.commands.report_commands.SpendingsReport;
-import org.poo.bank.commands.report_commands.Report;
-import org.poo.bank.commands.withdrawal.CashWithdrawal;
+import org.poo.bank.account.AccountEntry;
+import org.poo.bank.cards.Card;
+import org.poo.bank.cards.CardEntry;
+import org.poo.bank.cashback.Cashback;
+import org.poo.bank.commerciant.CommerciantDirectory;
+import org.poo.bank.commands.CommandRegistry;
+import org.poo.bank.commands.CommandType;
+import org.poo.bank.commands.response.CommandResponse;
+import org.poo.bank.exchange_rates.ExchangeRateSnapshot;
+import org.poo.bank.transaction.Ledger;
 import org.poo.fileio.CommandInput;
 import org.poo.fileio.CommerciantInput;
 import org.poo.fileio.ObjectInput;
@@ -32,13 +25,19 @@ import java.util.*;
  * precum si executarea diferitelor comenzi bancare.
  */
 @Getter
-public class Bank {
+public final class Bank {
     private final List<User> users = new ArrayList<>();
     private final List<CommerciantInput> commerciants = new ArrayList<>();
-    @Setter
-    private Map<String, Account> accounts = new HashMap<>();
+    private final Map<String, User> usersByEmail = new HashMap<>();
+    private final Map<String, AccountEntry> accountsByIban = new HashMap<>();
+    private final Map<String, CardEntry> cardsByNumber = new HashMap<>();
 
     private final List<CommandInput> processedCommands = new ArrayList<>();
+    private final CommerciantDirectory commerciantDirectory;
+    private final BankContext context;
+    private final Cashback cashback;
+    private final Ledger ledger = new Ledger();
+    private final CommandRegistry commandRegistry;
 
     /**
      * Constructor pentru crearea unei banci pe baza datelor de intrare.
@@ -48,128 +47,190 @@ public class Bank {
     public Bank(final ObjectInput inputData) {
         if (inputData.getUsers() != null) {
             for (var userInput : inputData.getUsers()) {
-                User user = new User(userInput);
+                User user = new User(userInput, ledger);
                 users.add(user);
+                usersByEmail.putIfAbsent(normalizeEmail(user.getEmail()), user);
             }
         }
         if (inputData.getCommerciants() != null) {
             commerciants.addAll(Arrays.asList(inputData.getCommerciants()));
         }
+        context = new BankContext(inputData.getExchangeRates() != null
+                ? Arrays.asList(inputData.getExchangeRates()) : List.of());
+        commerciantDirectory = new CommerciantDirectory(commerciants,
+                context.getCommerciantRegistry());
+        cashback = new Cashback(context.getCommerciantRegistry());
+        commandRegistry = new CommandRegistry(this);
     }
 
     /**
-     * Proceseaza o comanda si returneaza rezultatul executarii acesteia.
+     * Returneaza instantaneul curent al cursurilor de schimb ale bancii.
+     *
+     * @return Cursurile de schimb publicate in acest moment
+     */
+    public ExchangeRateSnapshot getExchangeRates() {
+        return context.getExchangeRateManager().getSnapshot();
+    }
+
+    /**
+     * Aduce un email la forma folosita drept cheie in indexul de utilizatori.
+     * Email-urile sunt comparate fara a tine cont de majuscule.
+     *
+     * @param email Email-ul de normalizat
+     * @return Email-ul normalizat
+     */
+    private static String normalizeEmail(final String email) {
+        return email.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Cauta un utilizator dupa email, fara a tine cont de majuscule.
+     *
+     * @param email Email-ul cautat
+     * @return Utilizatorul cu email-ul respectiv sau null daca nu exista
+     */
+    public User findUser(final String email) {
+        if (email == null) {
+            return null;
+        }
+        return usersByEmail.get(normalizeEmail(email));
+    }
+
+    /**
+     * Inregistreaza un cont nou in indexul global dupa IBAN.
+     *
+     * @param owner Utilizatorul care detine contul
+     * @param account Contul care trebuie indexat
+     */
+    public void registerAccount(final User owner, final Account account) {
+        accountsByIban.put(account.getIban(), new AccountEntry(owner, account));
+    }
+
+    /**
+     * Elimina un cont din indexul global dupa IBAN.
+     *
+     * @param account Contul care trebuie eliminat
+     */
+    public void unregisterAccount(final Account account) {
+        accountsByIban.remove(account.getIban());
+    }
+
+    /**
+     * Cauta un cont si detinatorul acestuia dupa IBAN.
+     *
+     * @param iban IBAN-ul cautat
+     * @return Perechea (detinator, cont) sau null daca IBAN-ul nu exista
+     */
+    public AccountEntry findAccount(final String iban) {
+        if (iban == null) {
+            return null;
+        }
+        return accountsByIban.get(iban);
+    }
+
+    /**
+     * Cauta un cont dupa IBAN, doar daca acesta apartine utilizatorului dat.
+     *
+     * @param owner Utilizatorul care trebuie sa detina contul
+     * @param iban IBAN-ul cautat
+     * @return Contul gasit sau null daca nu exista ori apartine altui utilizator
+     */
+    public Account findAccount(final User owner, final String iban) {
+        AccountEntry entry = findAccount(iban);
+        if (entry == null || entry.owner() != owner) {
+            return null;
+        }
+        return entry.account();
+    }
+
+    /**
+     * Inregistreaza un card nou in indexul global dupa numarul cardului.
+     *
+     * @param owner Utilizatorul care detine cardul
+     * @param account Contul pe care este emis cardul
+     * @param card Cardul care trebuie indexat
+     */
+    public void registerCard(final User owner, final Account account, final Card card) {
+        cardsByNumber.put(card.getCardNumber(), new CardEntry(owner, account, card));
+    }
+
+    /**
+     * Elimina un card din indexul global.
+     *
+     * @param card Cardul care trebuie eliminat
+     */
+    public void unregisterCard(final Card card) {
+        cardsByNumber.remove(card.getCardNumber());
+    }
+
+    /**
+     * Schimba numarul unui card (de exemplu la regenerarea unui card de unica
+     * folosinta) si muta intrarea din index pe noul numar.
+     *
+     * @param card Cardul al carui numar se schimba
+     * @param newCardNumber Noul numar al cardului
+     */
+    public void updateCardNumber(final Card card, final String newCardNumber) {
+        CardEntry entry = cardsByNumber.remove(card.getCardNumber());
+        card.setCardNumber(newCardNumber);
+        if (entry != null) {
+            cardsByNumber.put(newCardNumber, entry);
+        }
+    }
+
+    /**
+     * Cauta un card, contul si detinatorul acestuia dupa numarul cardului.
+     *
+     * @param cardNumber Numarul cardului cautat
+     * @return Intrarea (detinator, cont, card) sau null daca numarul nu exista
+     */
+    public CardEntry findCard(final String cardNumber) {
+        if (cardNumber == null) {
+            return null;
+        }
+        return cardsByNumber.get(cardNumber);
+    }
+
+    /**
+     * Cauta un card dupa numar, doar daca acesta apartine utilizatorului dat.
+     *
+     * @param owner Utilizatorul care trebuie sa detina cardul
+     * @param cardNumber Numarul cardului cautat
+     * @return Intrarea gasita sau null daca nu exista ori apartine altui utilizator
+     */
+    public CardEntry findCard(final User owner, final String cardNumber) {
+        CardEntry entry = findCard(cardNumber);
+        if (entry == null || entry.owner() != owner) {
+            return null;
+        }
+        return entry;
+    }
+
+    /**
+     * Proceseaza o comanda si returneaza raspunsurile care trebuie scrise in output.
      *
      * @param command Comanda care trebuie procesata
-     * @return Lista de obiecte care reprezinta rezultatul comenzii procesate
+     * @return Raspunsurile comenzii; lista este goala daca nu exista nimic de afisat
      * @throws IllegalArgumentException Daca comanda nu este cunoscuta
      */
-    public List<Map<String, Object>> processCommand(final CommandInput command) {
-        switch (command.getCommand()) {
-            case "printUsers":
-                PrintUsers printUsers = new PrintUsers(users);
-                return printUsers.execute();
-            case "addAccount":
-                AddAccount addAccount = new AddAccount(users);
-                addAccount.addAccount(command);
-                return Collections.emptyList();
-            case "createCard":
-                CreateCard createCard = new CreateCard(users);
-                createCard.createCard(command);
-                return Collections.emptyList();
-            case "createOneTimeCard":
-                CreateOneTimeCard createOneTimeCard = new CreateOneTimeCard(users);
-                createOneTimeCard.createOneTimeCard(command);
-                return Collections.emptyList();
-            case "addFunds":
-                AddFunds addFunds = new AddFunds(users);
-                addFunds.addFunds(command);
-                return Collections.emptyList();
-            case "deleteAccount":
-                DeleteAccount deleteAccount = new DeleteAccount(getUsers());
-                return Collections.singletonList(deleteAccount.deleteAccount(command));
-            case "deleteCard":
-                DeleteCard deleteCard = new DeleteCard(users);
-                deleteCard.deleteCard(command);
-                return Collections.emptyList();
-            case "setMinimumBalance":
-                SetMinimumBalance setMinimumBalance = new SetMinimumBalance(users);
-                setMinimumBalance.setMinimumBalance(command);
-                return Collections.emptyList();
-            case "payOnline":
-                PayOnline payOnlineProcessor = new PayOnline(users, commerciants);
-                List<Map<String, Object>> response = payOnlineProcessor.payOnline(command);
-                return response.isEmpty() ? Collections.emptyList() : response;
-            case "sendMoney":
-                SendMoney sendMoneyProcessor = new SendMoney(users);
-                return sendMoneyProcessor.sendMoney(command);
-            case "setAlias":
-                SetAlias setAliasProcessor = new SetAlias(users);
-                setAliasProcessor.setAlias(command);
-                return Collections.emptyList();
-            case "printTransactions":
-                PrintTransactions printTransactions = new PrintTransactions(users);
-                return printTransactions.printTransactions(command);
-            case "checkCardStatus":
-                CheckCardStatus checkCardStatus = new CheckCardStatus();
-                Map<String, Object> checkCardStatusResponse = checkCardStatus.execute(command,
-                        getUsers());
-                return checkCardStatusResponse.isEmpty() ? Collections.emptyList()
-                        : List.of(checkCardStatusResponse);
-            case "changeInterestRate":
-                ChangeInterestRate changeInterestRate = new ChangeInterestRate();
-                List<Map<String, Object>> changeInterestRateResponse
-                        = changeInterestRate.execute(command, getUsers());
-                return changeInterestRateResponse.isEmpty() ? Collections.emptyList()
-                        : changeInterestRateResponse;
-            case "splitPayment":
-                SplitPayment splitPaymentProcessor = new SplitPayment(users);
-                List<Map<String, Object>> splitPaymentResponse
-                        = splitPaymentProcessor.splitPayment(command);
-                processedCommands.add(command);
-                return splitPaymentResponse.isEmpty() ?
-                        Collections.emptyList() : splitPaymentResponse;
-            case "spendingsReport":
-                AbstractReportCommand spendingsReport = new SpendingsReport();
-                return List.of(spendingsReport.process(command, getUsers()));
-            case "report":
-                AbstractReportCommand report = new Report();
-                return List.of(report.process(command, getUsers()));
-            case "addInterest":
-                AddInterest addInterestProcessor = new AddInterest(users);
-                return addInterestProcessor.addInterest(command);
-            case "withdrawSavings":
-                WithdrawSavings withdrawSavings = new WithdrawSavings(users);
-                return withdrawSavings.withdrawSavings(command);
-            case "upgradePlan":
-                UpgradePlan upgradePlanProcessor = new UpgradePlan(users);
-                upgradePlanProcessor.execute(command);
-                return Collections.emptyList();
-            case "cashWithdrawal":
-                CashWithdrawal.executeCashWithdrawal(
-                        command.getCardNumber(),
-                        command.getAmount(),
-                        command.getEmail(),
-                        command.getLocation(),
-                        command.getTimestamp(),
-                        getUsers()
-                );
-                return Collections.emptyList();
-            case "acceptSplitPayment":
-                AcceptSplitPayment acceptSplitPaymentProcessor = new AcceptSplitPayment(users);
-                Map<String, Object> acceptResult =
-                        acceptSplitPaymentProcessor.acceptSplitPayment(command);
-                if (acceptResult != null) {
-                    return List.of(acceptResult);
-                } else {
-                    Map<String, Object> error = new HashMap<>();
-                    error.put("description", "Failed to process the split payment acceptance");
-                    return List.of(error);
-                }
-
-            default:
-                throw new IllegalArgumentException("Unknown command: "
-                        + command.getCommand());
+    public List<CommandResponse> processCommand(final CommandInput command) {
+        CommandType type = CommandType.of(command.getCommand());
+        if (type == null) {
+            throw new IllegalArgumentException("Unknown command: " + command.getCommand());
         }
+        return processCommand(type, command);
+    }
+
+    /**
+     * Proceseaza o comanda al carei tip a fost deja rezolvat, folosind handler-ul
+     * pre-construit din registrul de comenzi.
+     *
+     * @param type Tipul comenzii
+     * @param command Comanda care trebuie procesata
+     * @return Raspunsurile comenzii; lista este goala daca nu exista nimic de afisat
+     */
+    public List<CommandResponse> processCommand(final CommandType type,
+                                                final CommandInput command) {
+        return commandRegistry.get(type).execute(command);
     }
 }
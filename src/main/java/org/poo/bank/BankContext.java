@@ -0,0 +1,36 @@
+package org.poo.bank;
+
+import lombok.Getter;
+import org.poo.bank.commands.pay_commands.SplitPaymentState;
+import org.poo.bank.commerciant.CommerciantRegistry;
+import org.poo.bank.exchange_rates.CurrencyRegistry;
+import org.poo.bank.exchange_rates.ExchangeRateManager;
+import org.poo.fileio.ExchangeInput;
+import org.poo.utils.IdGenerator;
+
+import java.util.List;
+
+/**
+ * Starea mutabila a unei singure rulari: registrele de monede si de comercianti,
+ * cursurile de schimb, generatoarele de IBAN-uri si numere de card si plata
+ * impartita in asteptare. Fiecare banca are
+ * propriul context, asa ca mai multe fisiere de intrare pot fi procesate in
+ * paralel fara sa isi influenteze rezultatele.
+ */
+@Getter
+public final class BankContext {
+    private final CurrencyRegistry currencyRegistry = new CurrencyRegistry();
+    private final CommerciantRegistry commerciantRegistry = new CommerciantRegistry();
+    private final ExchangeRateManager exchangeRateManager;
+    private final IdGenerator idGenerator = new IdGenerator();
+    private final SplitPaymentState splitPaymentState = new SplitPaymentState();
+
+    /**
+     * Creeaza contextul unei rulari.
+     *
+     * @param exchangeInputs Cursurile de schimb din fisierul de intrare.
+     */
+    public BankContext(final List<ExchangeInput> exchangeInputs) {
+        this.exchangeRateManager = new ExchangeRateManager(currencyRegistry, exchangeInputs);
+    }
+}
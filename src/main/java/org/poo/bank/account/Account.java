@@ -1,56 +1,72 @@
 package org.poo.bank.account;
 
+import org.poo.bank.BankContext;
 import org.poo.bank.cards.Card;
+import org.poo.bank.commerciant.CommerciantRegistry;
+import org.poo.bank.exchange_rates.CurrencyRegistry;
+import org.poo.bank.transaction.InternalTransaction;
+import org.poo.bank.transaction.Ledger;
+import org.poo.bank.transaction.OffsetList;
+import org.poo.bank.transaction.PaymentTransaction;
 import org.poo.bank.transaction.Transaction;
-import org.poo.bank.user.User;
 
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 public final class Account {
     private final String iban;
     private double balance;
     private double minimumBalance;
     private final String currency;
+    private final int currencyId;
+    private final CommerciantRegistry commerciants;
     private final String type;
     private List<Card> cards;
-    private List<Transaction> transactions;
+    private final Ledger ledger;
+    private final OffsetList transactionOffsets = new OffsetList();
     private double interestRate;
     private double blockedFunds;
+    private int[] paymentsByCommerciant = new int[0];
+    private final TransactionTimeIndex timeIndex = new TransactionTimeIndex();
+    private final CommerciantSpendingIndex spendingIndex = new CommerciantSpendingIndex();
 
     private Account(final AccountBuilder builder) {
         this.iban = builder.iban;
         this.balance = builder.accountBalance;
         this.minimumBalance = builder.accountMinimumBalance;
         this.currency = builder.currency;
+        CurrencyRegistry currencies = builder.accountContext != null
+                ? builder.accountContext.getCurrencyRegistry() : new CurrencyRegistry();
+        this.currencyId = currencies.intern(builder.currency);
+        this.commerciants = builder.accountContext != null
+                ? builder.accountContext.getCommerciantRegistry() : new CommerciantRegistry();
         this.type = builder.type;
         this.cards = builder.accountCards != null ? builder.accountCards : new ArrayList<>();
-        this.transactions = builder.accountTransactions != null
-                ? builder.accountTransactions : new ArrayList<>();
+        this.ledger = builder.accountLedger != null ? builder.accountLedger : new Ledger();
         this.interestRate = builder.accountInterestRate;
         this.blockedFunds = 0;
+        if (builder.accountTransactions != null) {
+            for (Transaction transaction : builder.accountTransactions) {
+                addTransaction(transaction);
+            }
+        }
     }
 
     /**
-     * Returneaza numarul de tranzactii efectuate cu un comerciant specificat.
+     * Returneaza numarul de tranzactii reusite efectuate cu un comerciant specificat.
      *
      * @param commerciant Numele comerciantului.
-     * @return Numarul de tranzactii realizate cu comerciantul respectiv.
+     * @return Numarul de tranzactii reusite realizate cu comerciantul respectiv.
      */
-    public int getTransactionsCountForCommerciant(final String commerciant,
-                                                  final boolean successfulOnly) {
-        int count = 0;
-        for (Transaction transaction : transactions) {
-            if (transaction.getCommerciant().equalsIgnoreCase(commerciant)
-                    && (successfulOnly ? transaction.isSuccessful() : true)) {
-                count++;
-            }
+    public int getTransactionsCountForCommerciant(final String commerciant) {
+        int id = commerciants.lookup(commerciant);
+        if (id < 0 || id >= paymentsByCommerciant.length) {
+            return 0;
         }
-        return count;
+        return paymentsByCommerciant[id];
     }
 
     /**
@@ -77,12 +93,88 @@ public final class Account {
     }
 
     /**
-     * Adauga o tranzactie in lista tranzactiilor asociate contului.
+     * Inregistreaza o tranzactie in registrul bancii si o adauga in lista contului.
      *
      * @param transaction tranzactia de adaugat.
      */
     public void addTransaction(final Transaction transaction) {
-        transactions.add(transaction);
+        addOffset(ledger.append(transaction));
+    }
+
+    /**
+     * Retine pozitia unei tranzactii deja inregistrate in registrul contului si o
+     * adauga in indexurile contului. Pozitia trebuie sa provina din registrul dat
+     * la construirea contului.
+     *
+     * @param offset Pozitia tranzactiei in registru.
+     */
+    public void addOffset(final int offset) {
+        Transaction transaction = ledger.get(offset);
+        timeIndex.add(transaction.timestamp(), transactionOffsets.size());
+        transactionOffsets.add(offset);
+        countPayment(transaction);
+        indexSpending(transaction);
+    }
+
+    /**
+     * Returneaza totalul platilor online facute la fiecare comerciant in
+     * intervalul dat, ordonat dupa numele comerciantului. Fiecare total este
+     * obtinut in timp logaritmic din sumele cumulate ale comerciantului.
+     *
+     * @param startTimestamp Inceputul intervalului, inclusiv.
+     * @param endTimestamp Sfarsitul intervalului, inclusiv.
+     * @return Totalurile per comerciant.
+     */
+    public Map<String, Double> getSpendingByCommerciant(final int startTimestamp,
+                                                        final int endTimestamp) {
+        return spendingIndex.totalsBetween(startTimestamp, endTimestamp);
+    }
+
+    /**
+     * Returneaza tranzactiile contului cu timestamp-ul in intervalul dat, in
+     * ordinea in care au fost adaugate. Intervalul este gasit prin cautare binara
+     * in indexul temporal al contului.
+     *
+     * @param startTimestamp Inceputul intervalului, inclusiv.
+     * @param endTimestamp Sfarsitul intervalului, inclusiv.
+     * @return Tranzactiile din interval.
+     */
+    public List<Transaction> getTransactionsBetween(final int startTimestamp,
+                                                    final int endTimestamp) {
+        int[] positions = timeIndex.range(startTimestamp, endTimestamp);
+        List<Transaction> result = new ArrayList<>(positions.length);
+        for (int position : positions) {
+            result.add(ledger.get(transactionOffsets.get(position)));
+        }
+        return result;
+    }
+
+    /**
+     * Actualizeaza contorul comerciantului tranzactiei, daca aceasta are unul.
+     *
+     * @param transaction tranzactia adaugata.
+     */
+    private void countPayment(final Transaction transaction) {
+        String commerciant = transaction.commerciant();
+        if (commerciant == null || commerciant.isEmpty()) {
+            return;
+        }
+        int id = commerciants.intern(commerciant);
+        if (id >= paymentsByCommerciant.length) {
+            paymentsByCommerciant = Arrays.copyOf(paymentsByCommerciant, id + 1);
+        }
+        paymentsByCommerciant[id]++;
+    }
+
+    /**
+     * Adauga o plata online in agregatele cheltuielilor per comerciant.
+     *
+     * @param transaction tranzactia adaugata.
+     */
+    private void indexSpending(final Transaction transaction) {
+        if (transaction instanceof PaymentTransaction payment) {
+            spendingIndex.add(payment.commerciant(), payment.timestamp(), payment.amount());
+        }
     }
 
     /**
@@ -104,12 +196,12 @@ public final class Account {
     }
 
     /**
-     * Returneaza lista tranzactiilor asociate contului.
+     * Returneaza lista tranzactiilor asociate contului, rezolvate din registrul bancii.
      *
-     * @return Lista tranzactiilor.
+     * @return Lista tranzactiilor, care nu poate fi modificata.
      */
     public List<Transaction> getTransactions() {
-        return transactions;
+        return ledger.view(transactionOffsets);
     }
 
     /**
@@ -173,6 +265,15 @@ public final class Account {
         return currency;
     }
 
+    /**
+     * Returneaza indexul monedei contului din registrul de monede.
+     *
+     * @return Indexul monedei contului.
+     */
+    public int getCurrencyId() {
+        return currencyId;
+    }
+
     /**
      * Returneaza tipul contului.
      *
@@ -191,104 +292,6 @@ public final class Account {
         return cards;
     }
 
-    /**
-     * Construieste o reprezentare sub forma de mapa a contului.
-     *
-     * @return Mapa care contine detalii despre cont.
-     */
-    public Map<String, Object> toMap() {
-        Map<String, Object> map = new HashMap<>();
-        map.put("IBAN", iban);
-        map.put("balance", balance);
-        map.put("currency", currency);
-        map.put("type", type);
-        map.put("cards", cards.stream().map(Card::toMap).collect(Collectors.toList()));
-        return map;
-    }
-
-    /**
-     * Returneaza cardul care corespunde unui numar de card specificat.
-     *
-     * @param cardNumber Numarul cardului cautat.
-     * @return Cardul corespunzator sau null daca nu exista.
-     */
-    public Card getCardByNumber(final String cardNumber) {
-        for (Card card : cards) {
-            if (card.getCardNumber().equals(cardNumber)) {
-                return card;
-            }
-        }
-        return null;
-    }
-
-    /**
-     * Gaseste contul care contine un anumit card, utilizand numarul cardului.
-     *
-     * @param user Utilizatorul caruia ii apartine contul.
-     * @param cardNumber Numarul cardului.
-     * @return Contul care contine cardul sau null daca nu exista.
-     */
-    public static Account findByCardNumber(final User user, final String cardNumber) {
-        for (Account account : user.getAccounts()) {
-            if (account.getCardByNumber(cardNumber) != null) {
-                return account;
-            }
-        }
-        return null;
-    }
-
-    /**
-     * Genereaza un raport al cheltuielilor in functie de tranzactiile
-     * realizate in intervalul specificat.
-     *
-     * @param startTimestamp Inceputul intervalului.
-     * @param endTimestamp Sfarsitul intervalului.
-     * @return Mapa cu detalii despre raportul de cheltuieli.
-     */
-    public Map<String, Object> generateSpendingsReport(final int startTimestamp,
-                                                       final int endTimestamp) {
-        List<Transaction> filteredTransactions = new ArrayList<>();
-        for (Transaction t : transactions) {
-            if (t.getTimestamp() >= startTimestamp
-                    && t.getTimestamp() <= endTimestamp
-                    && "payOnline".equals(t.getTransactionType())) {
-                filteredTransactions.add(t);
-            }
-        }
-
-        Map<String, Double> commerciantsTotals = new HashMap<>();
-        for (Transaction t : filteredTransactions) {
-            if (t.getCommerciant() != null) {
-                String commerciant = t.getCommerciant();
-                double amount = t.getAmount();
-                commerciantsTotals.put(commerciant,
-                        commerciantsTotals.getOrDefault(commerciant, 0.0) + amount);
-            }
-        }
-
-        List<Map<String, Object>> commerciantsList = new ArrayList<>();
-        for (Map.Entry<String, Double> entry : commerciantsTotals.entrySet()) {
-            Map<String, Object> map = new HashMap<>();
-            map.put("commerciant", entry.getKey());
-            map.put("total", entry.getValue());
-            commerciantsList.add(map);
-        }
-
-        List<Map<String, Object>> transactionsList = new ArrayList<>();
-        for (Transaction transaction : filteredTransactions) {
-            transactionsList.add(transaction.toMap());
-        }
-
-        Map<String, Object> report = new HashMap<>();
-        report.put("IBAN", iban);
-        report.put("balance", balance);
-        report.put("currency", currency);
-        report.put("transactions", transactionsList);
-        report.put("commerciants", commerciantsList);
-
-        return report;
-    }
-
     /**
      * Retrage o suma de bani din cont daca exista suficiente fonduri.
      *
@@ -298,25 +301,7 @@ public final class Account {
     public void withdrawFunds(final double amount) {
         if (this.balance >= amount) {
             this.balance -= amount;
-            Transaction transaction = new Transaction(
-                    0,
-                    "Funds withdrawn",
-                    iban,
-                    null,
-                    amount,
-                    currency,
-                    null,
-                    null,
-                    null,
-                    null,
-                    null,
-                    null,
-                    null,
-                    true,
-                    null,
-                    null,
-                    "withdrawFunds"
-            );
+            Transaction transaction = new InternalTransaction(0, "Funds withdrawn");
             addTransaction(transaction);
         } else {
             throw new IllegalArgumentException("Insufficient funds");
@@ -331,25 +316,7 @@ public final class Account {
     public void addFunds(final double amount) {
         if (amount > 0) {
             this.balance += amount;
-            Transaction transaction = new Transaction(
-                    0,
-                    "Funds added",
-                    null,
-                    iban,
-                    amount,
-                    currency,
-                    null,
-                    null,
-                    null,
-                    null,
-                    null,
-                    null,
-                    null,
-                    true,
-                    null,
-                    null,
-                    "addFunds"
-            );
+            Transaction transaction = new InternalTransaction(0, "Funds added");
             addTransaction(transaction);
         }
     }
@@ -361,25 +328,7 @@ public final class Account {
      */
     public void addCard(final Card card) {
         cards.add(card);
-        Transaction transaction = new Transaction(
-                0,
-                "Card added",
-                null,
-                iban,
-                0,
-                currency,
-                null,
-                card.getCardNumber(),
-                null,
-                null,
-                null,
-                null,
-                null,
-                true,
-                null,
-                null,
-                "addCard"
-        );
+        Transaction transaction = new InternalTransaction(0, "Card added");
         addTransaction(transaction);
     }
 
@@ -390,25 +339,7 @@ public final class Account {
      */
     public void removeCard(final Card card) {
         cards.remove(card);
-        Transaction transaction = new Transaction(
-                0,
-                "Card removed",
-                null,
-                iban,
-                0,
-                currency,
-                null,
-                card.getCardNumber(),
-                null,
-                null,
-                null,
-                null,
-                null,
-                true,
-                null,
-                null,
-                "removeCard"
-        );
+        Transaction transaction = new InternalTransaction(0, "Card removed");
         addTransaction(transaction);
     }
 
@@ -423,6 +354,8 @@ public final class Account {
         private String type;
         private List<Card> accountCards;
         private List<Transaction> accountTransactions;
+        private Ledger accountLedger;
+        private BankContext accountContext;
         private double accountInterestRate;
 
         /**
@@ -493,6 +426,30 @@ public final class Account {
             return this;
         }
 
+        /**
+         * Seteaza registrul bancii in care sunt inregistrate tranzactiile contului.
+         * Fara un registru dat, contul isi foloseste propriul registru.
+         *
+         * @param ledger Registrul bancii.
+         * @return Instanta actualizata a builder-ului.
+         */
+        public AccountBuilder ledger(final Ledger ledger) {
+            this.accountLedger = ledger;
+            return this;
+        }
+
+        /**
+         * Seteaza contextul rularii, ale carui registre de monede si de comercianti
+         * sunt folosite de cont. Fara un context dat, contul are registre proprii.
+         *
+         * @param context Contextul bancii.
+         * @return Instanta actualizata a builder-ului.
+         */
+        public AccountBuilder context(final BankContext context) {
+            this.accountContext = context;
+            return this;
+        }
+
         /**
          * Construieste un obiect de tip Account utilizand configuratia actuala.
          *
@@ -0,0 +1,13 @@
+package org.poo.bank.account;
+
+import org.poo.bank.user.User;
+
+/**
+ * Intrare din indexul global de conturi al bancii: asociaza un cont cu
+ * utilizatorul care il detine.
+ *
+ * @param owner Utilizatorul care detine contul.
+ * @param account Contul indexat.
+ */
+public record AccountEntry(User owner, Account account) {
+}
@@ -0,0 +1,124 @@
+package org.poo.bank.account;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Agregatele cheltuielilor unui cont la fiecare comerciant. Comerciantii sunt
+ * comparati fara majuscule, ca in {@link org.poo.bank.commerciant.CommerciantRegistry},
+ * si apar in rezultat cu numele primei plati. Pentru fiecare comerciant se
+ * pastreaza, doar cu adaugare, timestamp-urile platilor sosite in ordine
+ * cronologica si sumele lor cumulate, astfel incat totalul pe un interval se
+ * obtine cu doua cautari binare si o scadere. Platile sosite dupa altele mai
+ * noi, rare, sunt tinute separat si parcurse liniar.
+ */
+final class CommerciantSpendingIndex {
+    private final Map<String, Column> columns = new HashMap<>();
+
+    /**
+     * Inregistreaza o plata la un comerciant.
+     *
+     * @param commerciant Numele comerciantului.
+     * @param timestamp Momentul platii.
+     * @param amount Suma platita.
+     */
+    void add(final String commerciant, final int timestamp, final double amount) {
+        columns.computeIfAbsent(commerciant.toLowerCase(Locale.ROOT),
+                key -> new Column(commerciant)).add(timestamp, amount);
+    }
+
+    /**
+     * Returneaza totalul cheltuit la fiecare comerciant in intervalul dat,
+     * ordonat dupa numele comerciantului. Comerciantii fara plati in interval
+     * nu apar in rezultat.
+     *
+     * @param start Inceputul intervalului, inclusiv.
+     * @param end Sfarsitul intervalului, inclusiv.
+     * @return Totalurile per comerciant.
+     */
+    Map<String, Double> totalsBetween(final int start, final int end) {
+        Map<String, Double> totals = new TreeMap<>();
+        for (Column column : columns.values()) {
+            column.addTotal(totals, start, end);
+        }
+        return totals;
+    }
+
+    /**
+     * Platile unui singur comerciant: cele sosite in ordine cronologica, cu
+     * timestamp-uri crescatoare si sumele cumulate pana la fiecare plata inclusiv,
+     * si cele sosite cu intarziere, in ordinea adaugarii.
+     */
+    private static final class Column {
+        private static final int INITIAL_CAPACITY = 8;
+
+        private final String name;
+        private int[] timestamps = new int[INITIAL_CAPACITY];
+        private double[] cumulative = new double[INITIAL_CAPACITY];
+        private int size;
+        private int[] lateTimestamps = new int[0];
+        private double[] lateAmounts = new double[0];
+        private int lateSize;
+
+        Column(final String name) {
+            this.name = name;
+        }
+
+        void add(final int timestamp, final double amount) {
+            if (size > 0 && timestamps[size - 1] > timestamp) {
+                if (lateSize == lateTimestamps.length) {
+                    lateTimestamps = Arrays.copyOf(lateTimestamps, lateSize * 2 + 1);
+                    lateAmounts = Arrays.copyOf(lateAmounts, lateSize * 2 + 1);
+                }
+                lateTimestamps[lateSize] = timestamp;
+                lateAmounts[lateSize] = amount;
+                lateSize++;
+                return;
+            }
+            if (size == timestamps.length) {
+                timestamps = Arrays.copyOf(timestamps, size * 2);
+                cumulative = Arrays.copyOf(cumulative, size * 2);
+            }
+            timestamps[size] = timestamp;
+            cumulative[size] = (size > 0 ? cumulative[size - 1] : 0) + amount;
+            size++;
+        }
+
+        void addTotal(final Map<String, Double> totals, final int start, final int end) {
+            int from = upperBound(start - 1L);
+            int to = upperBound(end);
+            boolean found = from < to;
+            double total = found ? sum(from, to) : 0;
+            for (int i = 0; i < lateSize; i++) {
+                if (lateTimestamps[i] >= start && lateTimestamps[i] <= end) {
+                    total += lateAmounts[i];
+                    found = true;
+                }
+            }
+            if (found) {
+                totals.put(name, total);
+            }
+        }
+
+        private double sum(final int from, final int to) {
+            return from == 0 ? cumulative[to - 1] : cumulative[to - 1] - cumulative[from - 1];
+        }
+
+        private int upperBound(final long timestamp) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (timestamps[mid] <= timestamp) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package org.poo.bank.account;
+
+import java.util.Arrays;
+
+/**
+ * Indexul temporal al tranzactiilor unui cont. Pastreaza coloane primitive de
+ * timestamp-uri impreuna cu pozitia fiecarei tranzactii in lista contului:
+ * <ul>
+ *     <li>coloana principala, doar cu adaugare, in care tranzactiile sosesc in
+ *     ordine cronologica si in care un interval este gasit prin cautare binara;</li>
+ *     <li>tranzactiile interne, cu timestamp 0, care ar trebui altfel mutate la
+ *     inceputul coloanei principale;</li>
+ *     <li>tranzactiile sosite mai tarziu decat timestamp-ul lor (de exemplu
+ *     platile impartite, inregistrate la acceptare cu momentul platii), rare,
+ *     care sunt parcurse liniar.</li>
+ * </ul>
+ * Pozitiile din fiecare coloana sunt crescatoare, asa ca un interval se obtine
+ * prin interclasarea celor trei portiuni, fara sortare.
+ */
+final class TransactionTimeIndex {
+    private final Column ordered = new Column();
+    private final Column internal = new Column();
+    private final Column late = new Column();
+
+    /**
+     * Adauga in index o tranzactie. Pozitiile trebuie adaugate crescator.
+     *
+     * @param timestamp Timestamp-ul tranzactiei.
+     * @param position Pozitia tranzactiei in lista contului.
+     */
+    void add(final int timestamp, final int position) {
+        if (timestamp == 0) {
+            internal.add(timestamp, position);
+        } else if (ordered.size > 0 && ordered.timestamps[ordered.size - 1] > timestamp) {
+            late.add(timestamp, position);
+        } else {
+            ordered.add(timestamp, position);
+        }
+    }
+
+    /**
+     * Returneaza pozitiile tranzactiilor cu timestamp-ul in intervalul inchis dat,
+     * in ordinea in care au fost adaugate.
+     *
+     * @param start Inceputul intervalului.
+     * @param end Sfarsitul intervalului.
+     * @return Pozitiile din lista contului, crescatoare.
+     */
+    int[] range(final int start, final int end) {
+        if (start > end) {
+            return new int[0];
+        }
+        int from = ordered.lowerBound(start);
+        int to = ordered.lowerBound(end + 1L);
+        int[] main = Arrays.copyOfRange(ordered.positions, from, to);
+        int[] zeros = start <= 0 && end >= 0
+                ? Arrays.copyOf(internal.positions, internal.size) : new int[0];
+        int[] delayed = late.filter(start, end);
+        return merge(merge(main, zeros), delayed);
+    }
+
+    private static int[] merge(final int[] first, final int[] second) {
+        if (second.length == 0) {
+            return first;
+        }
+        if (first.length == 0) {
+            return second;
+        }
+        int[] result = new int[first.length + second.length];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < first.length && j < second.length) {
+            result[k++] = first[i] < second[j] ? first[i++] : second[j++];
+        }
+        while (i < first.length) {
+            result[k++] = first[i++];
+        }
+        while (j < second.length) {
+            result[k++] = second[j++];
+        }
+        return result;
+    }
+
+    /**
+     * O coloana de perechi (timestamp, pozitie), in ordinea adaugarii.
+     */
+    private static final class Column {
+        private static final int INITIAL_CAPACITY = 16;
+
+        private int[] timestamps = new int[INITIAL_CAPACITY];
+        private int[] positions = new int[INITIAL_CAPACITY];
+        private int size;
+
+        void add(final int timestamp, final int position) {
+            if (size == timestamps.length) {
+                timestamps = Arrays.copyOf(timestamps, size * 2);
+                positions = Arrays.copyOf(positions, size * 2);
+            }
+            timestamps[size] = timestamp;
+            positions[size] = position;
+            size++;
+        }
+
+        /**
+         * Cauta binar, intr-o coloana ordonata, primul slot cu timestamp-ul cel
+         * putin egal cu cel dat.
+         */
+        int lowerBound(final long timestamp) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (timestamps[mid] < timestamp) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        int[] filter(final int start, final int end) {
+            int[] result = new int[size];
+            int count = 0;
+            for (int i = 0; i < size; i++) {
+                if (timestamps[i] >= start && timestamps[i] <= end) {
+                    result[count++] = positions[i];
+                }
+            }
+            return Arrays.copyOf(result, count);
+        }
+    }
+}
@@ -1,9 +1,6 @@
 
 package org.poo.bank.cards;
 
-import java.util.HashMap;
-import java.util.Map;
-
 public class Card {
     private String cardNumber;
     private String status;
@@ -28,11 +25,4 @@ public class Card {
     public final void setStatus(final String status) {
         this.status = status;
     }
-
-    public final Map<String, Object> toMap() {
-        Map<String, Object> map = new HashMap<>();
-        map.put("cardNumber", cardNumber);
-        map.put("status", status);
-        return map;
-    }
 }
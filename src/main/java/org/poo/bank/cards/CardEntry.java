@@ -0,0 +1,15 @@
+package org.poo.bank.cards;
+
+import org.poo.bank.account.Account;
+import org.poo.bank.user.User;
+
+/**
+ * Intrare din indexul global de carduri al bancii: asociaza un card cu
+ * contul pe care este emis si cu utilizatorul care detine contul.
+ *
+ * @param owner Utilizatorul care detine cardul.
+ * @param account Contul pe care este emis cardul.
+ * @param card Cardul indexat.
+ */
+public record CardEntry(User owner, Account account, Card card) {
+}
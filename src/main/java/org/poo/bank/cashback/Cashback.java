@@ -1,22 +1,45 @@
 package org.poo.bank.cashback;
 
 import org.poo.bank.account.Account;
-import org.poo.bank.exchange_rates.ExchangeRateManager;
+import org.poo.bank.commerciant.CommerciantRegistry;
+import org.poo.bank.exchange_rates.ExchangeRateSnapshot;
 import org.poo.fileio.CommerciantInput;
 
+/**
+ * Calculeaza cashback-ul platilor online. Strategiile sunt create o singura data,
+ * impreuna cu starea cashback-ului, si sunt refolosite pentru toate platile bancii.
+ */
 public final class Cashback {
-    private CashbackStrategy strategy;
+    private final CashbackState state;
+    private final CashbackStrategy nrOfTransactions = new NrOfTransactionsCashbackStrategy();
+    private final CashbackStrategy spendingThreshold;
 
-    public void setStrategy(CashbackStrategy strategy) {
-        this.strategy = strategy;
+    /**
+     * Creeaza calculatorul de cashback al unei banci.
+     *
+     * @param commerciants Registrul de comercianti al rularii.
+     */
+    public Cashback(final CommerciantRegistry commerciants) {
+        this.state = new CashbackState(commerciants);
+        this.spendingThreshold = new SpendingThresholdCashbackStrategy(state);
+    }
+
+    /**
+     * Returneaza starea persistenta a cashback-ului.
+     *
+     * @return Totalurile cheltuite per cont si comerciant.
+     */
+    public CashbackState getState() {
+        return state;
     }
 
     public double applyCashback(
             final String email, final String commerciant,
             final double transactionAmount, String userPlan,
             final CommerciantInput commerciantInput,
-            final String transactionCurrency, final String accountCurrency,
-            final ExchangeRateManager exchangeRateManager, final Account account
+            final int transactionCurrencyId, final int accountCurrencyId,
+            final ExchangeRateSnapshot exchangeRates, final Account account,
+            final int timestamp
     ) {
         if (userPlan == null) {
             userPlan = "standard";
@@ -25,13 +48,14 @@ public final class Cashback {
         String cashbackStrategy = commerciantInput.getCashbackStrategy();
         String category = commerciantInput.getType();
 
-        switch (cashbackStrategy) {
-            case "nrOfTransactions" -> setStrategy(new NrOfTransactionsCashbackStrategy());
-            case "spendingThreshold" -> setStrategy(new SpendingThresholdCashbackStrategy());
+        CashbackStrategy strategy = switch (cashbackStrategy) {
+            case "nrOfTransactions" -> nrOfTransactions;
+            case "spendingThreshold" -> spendingThreshold;
             default -> throw new IllegalArgumentException("Unknown cashback strategy");
-        }
+        };
 
         return strategy.calculateCashback(email, commerciant, category, transactionAmount, userPlan,
-                transactionCurrency, accountCurrency, exchangeRateManager, account);
+                transactionCurrencyId, accountCurrencyId, exchangeRates, account,
+                timestamp);
     }
 }
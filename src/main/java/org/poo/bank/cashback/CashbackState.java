@@ -0,0 +1,63 @@
+package org.poo.bank.cashback;
+
+import org.poo.bank.commerciant.CommerciantRegistry;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Starea persistenta a cashback-ului unei banci. Pentru fiecare cont (identificat
+ * prin IBAN) pastreaza totalul cheltuit, in RON, la fiecare comerciant, intr-un
+ * tablou indexat dupa indexul comerciantului din {@link CommerciantRegistry}-ul
+ * rularii.
+ * Conturi diferite pot fi actualizate in paralel.
+ */
+public final class CashbackState {
+    private static final double[] NO_SPENDING = new double[0];
+
+    private final Map<String, double[]> spendingByAccount = new ConcurrentHashMap<>();
+    private final CommerciantRegistry commerciants;
+
+    /**
+     * Creeaza starea cashback-ului unei banci.
+     *
+     * @param commerciants Registrul de comercianti al rularii.
+     */
+    public CashbackState(final CommerciantRegistry commerciants) {
+        this.commerciants = commerciants;
+    }
+
+    /**
+     * Adauga o suma la totalul cheltuit de un cont la un comerciant.
+     *
+     * @param iban IBAN-ul contului.
+     * @param commerciant Numele comerciantului.
+     * @param amountInRON Suma cheltuita, in RON.
+     * @return Totalul actualizat cheltuit la comerciant, in RON.
+     */
+    public double addSpending(final String iban, final String commerciant,
+                              final double amountInRON) {
+        int id = commerciants.intern(commerciant);
+        double[] totals = spendingByAccount.getOrDefault(iban, NO_SPENDING);
+        if (id >= totals.length) {
+            totals = Arrays.copyOf(totals, id + 1);
+            spendingByAccount.put(iban, totals);
+        }
+        totals[id] += amountInRON;
+        return totals[id];
+    }
+
+    /**
+     * Returneaza totalul cheltuit de un cont la un comerciant.
+     *
+     * @param iban IBAN-ul contului.
+     * @param commerciant Numele comerciantului.
+     * @return Totalul cheltuit, in RON, sau 0 daca nu exista plati.
+     */
+    public double getSpending(final String iban, final String commerciant) {
+        int id = commerciants.lookup(commerciant);
+        double[] totals = spendingByAccount.getOrDefault(iban, NO_SPENDING);
+        return id >= 0 && id < totals.length ? totals[id] : 0;
+    }
+}
@@ -1,7 +1,7 @@
 package org.poo.bank.cashback;
 
 import org.poo.bank.account.Account;
-import org.poo.bank.exchange_rates.ExchangeRateManager;
+import org.poo.bank.exchange_rates.ExchangeRateSnapshot;
 
 public final class NrOfTransactionsCashbackStrategy implements CashbackStrategy {
     private static final double FOOD_CASHBACK_PERCENTAGE = 0.02;
@@ -15,11 +15,11 @@ public final class NrOfTransactionsCashbackStrategy implements CashbackStrategy
     public double calculateCashback(
             final String email, final String commerciant, final String category,
             final double transactionAmount, final String userPlan,
-            final String transactionCurrency, final String accountCurrency,
-            final ExchangeRateManager exchangeRateManager, final Account account
+            final int transactionCurrencyId, final int accountCurrencyId,
+            final ExchangeRateSnapshot exchangeRates, final Account account,
+            final int timestamp
     ) {
-        int transactionCount = account.getTransactionsCountForCommerciant(commerciant,
-                true);
+        int transactionCount = account.getTransactionsCountForCommerciant(commerciant);
         double cashbackPercentage = 0.0;
 
         if ("Food".equals(category) && transactionCount
@@ -35,9 +35,9 @@ public final class NrOfTransactionsCashbackStrategy implements CashbackStrategy
 
         if (cashbackPercentage > 0) {
             double cashbackAmount = cashbackPercentage * transactionAmount;
-            if (!transactionCurrency.equalsIgnoreCase(accountCurrency)) {
-                cashbackAmount *= exchangeRateManager.getExchangeRate(transactionCurrency,
-                        accountCurrency);
+            if (transactionCurrencyId != accountCurrencyId) {
+                cashbackAmount *= exchangeRates.getExchangeRate(transactionCurrencyId,
+                        accountCurrencyId, timestamp);
             }
             return cashbackAmount;
         }
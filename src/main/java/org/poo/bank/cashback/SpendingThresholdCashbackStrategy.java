@@ -1,10 +1,8 @@
 package org.poo.bank.cashback;
 
 import org.poo.bank.account.Account;
-import org.poo.bank.exchange_rates.ExchangeRateManager;
-
-import java.util.HashMap;
-import java.util.Map;
+import org.poo.bank.exchange_rates.CurrencyRegistry;
+import org.poo.bank.exchange_rates.ExchangeRateSnapshot;
 
 public final class SpendingThresholdCashbackStrategy implements CashbackStrategy {
     private static final double SPENDING_THRESHOLD_100 = 100.0;
@@ -25,27 +23,26 @@ public final class SpendingThresholdCashbackStrategy implements CashbackStrategy
 
     private static final double PERCENTAGE = 100;
 
-    private final Map<String, Map<String, Double>> spendingTotal = new HashMap<>();
+    private final CashbackState state;
+
+    public SpendingThresholdCashbackStrategy(final CashbackState state) {
+        this.state = state;
+    }
 
     public double calculateCashback(
             final String email, final String commerciant, final String category,
             final double transactionAmount, final String userPlan,
-            final String transactionCurrency, final String accountCurrency,
-            final ExchangeRateManager exchangeRateManager, final Account account
+            final int transactionCurrencyId, final int accountCurrencyId,
+            final ExchangeRateSnapshot exchangeRates, final Account account,
+            final int timestamp
     ) {
-        double transactionAmountInRON = transactionCurrency.equalsIgnoreCase("RON")
+        double transactionAmountInRON = transactionCurrencyId == CurrencyRegistry.RON_ID
                 ? transactionAmount
-                : exchangeRateManager.convertCurrency(transactionCurrency,
-                "RON", transactionAmount);
-
-        Map<String, Double> accountSpendingTotal
-                = spendingTotal.getOrDefault(email, new HashMap<>());
-        accountSpendingTotal.put(commerciant,
-                accountSpendingTotal.getOrDefault(commerciant, 0.0)
-                        + transactionAmountInRON);
-        spendingTotal.put(email, accountSpendingTotal);
+                : exchangeRates.convertCurrency(transactionCurrencyId,
+                CurrencyRegistry.RON_ID, transactionAmount, timestamp);
 
-        double totalSpent = accountSpendingTotal.get(commerciant);
+        double totalSpent = state.addSpending(account.getIban(), commerciant,
+                transactionAmountInRON);
         double cashbackPercentage = 0.0;
 
         if (totalSpent >= SPENDING_THRESHOLD_500) {
@@ -60,8 +57,8 @@ public final class SpendingThresholdCashbackStrategy implements CashbackStrategy
         }
 
         double cashbackInRON = cashbackPercentage * transactionAmountInRON;
-        return exchangeRateManager.convertCurrency("RON",
-                accountCurrency, cashbackInRON);
+        return exchangeRates.convertCurrency(CurrencyRegistry.RON_ID,
+                accountCurrencyId, cashbackInRON, timestamp);
     }
 
     private double getPlanPercentage(final String userPlan, final double standard,
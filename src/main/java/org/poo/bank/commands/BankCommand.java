@@ -0,0 +1,22 @@
+package org.poo.bank.commands;
+
+import org.poo.bank.commands.response.CommandResponse;
+import org.poo.fileio.CommandInput;
+
+import java.util.List;
+
+/**
+ * Handler-ul unei comenzi bancare. Instantele sunt construite o singura data
+ * pentru fiecare banca si refolosite pentru toate comenzile de acelasi tip.
+ */
+@FunctionalInterface
+public interface BankCommand {
+
+    /**
+     * Executa comanda.
+     *
+     * @param command Comanda care trebuie executata.
+     * @return Raspunsurile comenzii; lista este goala daca nu exista nimic de afisat.
+     */
+    List<CommandResponse> execute(CommandInput command);
+}
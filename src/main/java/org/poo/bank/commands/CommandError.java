@@ -0,0 +1,63 @@
+package org.poo.bank.commands;
+
+import org.poo.bank.commands.response.CommandResponse;
+
+/**
+ * Codurile de eroare ale comenzilor care isi raporteaza esecul in output. Sunt
+ * constante pre-alocate, returnate direct de comenzi in locul exceptiilor, iar
+ * raspunsul de eroare este construit din descrierea codului.
+ */
+public enum CommandError {
+    NONE(null),
+    ACCOUNT_NOT_FOUND("Account not found"),
+    CARD_NOT_FOUND("Card not found"),
+    INSUFFICIENT_FUNDS("Insufficient funds"),
+    DOWNGRADE_NOT_ALLOWED("You cannot downgrade your plan."),
+    ALREADY_STANDARD("The user already has the standard plan."),
+    ALREADY_STUDENT("The user already has the student plan."),
+    ALREADY_SILVER("The user already has the silver plan."),
+    ALREADY_GOLD("The user already has the gold plan.");
+
+    private final String description;
+
+    CommandError(final String description) {
+        this.description = description;
+    }
+
+    /**
+     * Returneaza codul pentru un utilizator care are deja planul cerut.
+     *
+     * @param plan Planul utilizatorului.
+     * @return Codul de eroare corespunzator planului.
+     * @throws IllegalArgumentException daca planul nu este cunoscut
+     */
+    public static CommandError alreadyHasPlan(final String plan) {
+        return switch (plan) {
+            case "standard" -> ALREADY_STANDARD;
+            case "student" -> ALREADY_STUDENT;
+            case "silver" -> ALREADY_SILVER;
+            case "gold" -> ALREADY_GOLD;
+            default -> throw new IllegalArgumentException("Unknown plan: " + plan);
+        };
+    }
+
+    /**
+     * Returneaza descrierea erorii, asa cum apare in output.
+     *
+     * @return Descrierea erorii sau null pentru {@link #NONE}.
+     */
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * Construieste raspunsul de eroare al unei comenzi pentru acest cod.
+     *
+     * @param command Numele comenzii.
+     * @param timestamp Timestamp-ul comenzii.
+     * @return Raspunsul de eroare.
+     */
+    public CommandResponse toResponse(final String command, final int timestamp) {
+        return CommandResponse.error(command, description, timestamp);
+    }
+}
@@ -0,0 +1,96 @@
+package org.poo.bank.commands;
+
+import org.poo.bank.Bank;
+import org.poo.bank.account.AccountEntry;
+import org.poo.bank.cards.CardEntry;
+import org.poo.bank.cards.OneTimeCard;
+import org.poo.bank.user.User;
+import org.poo.fileio.CommandInput;
+
+import java.util.List;
+
+/**
+ * Rezolva, inainte de executie, obiectele pe care o comanda le poate citi sau
+ * modifica: utilizatorii si conturile la care ajunge prin email, IBAN sau numar
+ * de card. Cardurile sunt acoperite de contul pe care sunt emise. Doua comenzi
+ * ale caror amprente nu au obiecte comune pot rula in paralel fara ca rezultatul
+ * sa difere de executia una dupa alta.
+ *
+ * Doar comenzile care ating strict obiectele din amprenta primesc una. Restul
+ * (cele care genereaza IBAN-uri sau numere de card, modifica indexurile bancii,
+ * lucreaza cu plata impartita sau citesc toti utilizatorii) intorc null si
+ * ruleaza singure.
+ */
+public final class CommandFootprint {
+
+    private CommandFootprint() {
+    }
+
+    /**
+     * Returneaza obiectele atinse de o comanda, in starea curenta a bancii.
+     *
+     * @param bank Banca asupra careia ruleaza comanda.
+     * @param type Tipul comenzii sau null daca aceasta nu este cunoscuta.
+     * @param command Comanda de analizat.
+     * @return Obiectele atinse sau null daca comanda trebuie rulata singura.
+     */
+    public static List<Object> resolve(final Bank bank, final CommandType type,
+                                       final CommandInput command) {
+        if (type == null) {
+            return List.of();
+        }
+        return switch (type) {
+            case ADD_FUNDS -> addFunds(bank, command);
+            case PAY_ONLINE -> payOnline(bank, command);
+            case SEND_MONEY -> sendMoney(bank, command);
+            case CASH_WITHDRAWAL -> cashWithdrawal(bank, command);
+            case CHECK_CARD_STATUS -> checkCardStatus(bank, command);
+            default -> null;
+        };
+    }
+
+    private static List<Object> addFunds(final Bank bank, final CommandInput command) {
+        AccountEntry entry = bank.findAccount(command.getAccount());
+        return entry == null ? List.of() : List.of(entry.account());
+    }
+
+    private static List<Object> payOnline(final Bank bank, final CommandInput command) {
+        User user = bank.findUser(command.getEmail());
+        if (user == null) {
+            return List.of();
+        }
+        CardEntry entry = bank.findCard(user, command.getCardNumber());
+        if (entry == null) {
+            return List.of(user);
+        }
+        if (entry.card() instanceof OneTimeCard) {
+            // Cardul este regenerat, cu un numar nou luat din generatorul bancii.
+            return null;
+        }
+        return List.of(user, entry.account());
+    }
+
+    private static List<Object> sendMoney(final Bank bank, final CommandInput command) {
+        AccountEntry sender = bank.findAccount(command.getAccount());
+        AccountEntry receiver = bank.findAccount(command.getReceiver());
+        if (sender == null || receiver == null) {
+            // Transferul se opreste inainte sa modifice vreun cont.
+            return List.of();
+        }
+        return List.of(sender.owner(), sender.account(), receiver.owner(), receiver.account());
+    }
+
+    private static List<Object> cashWithdrawal(final Bank bank, final CommandInput command) {
+        User user = bank.findUser(command.getEmail());
+        if (user == null) {
+            return List.of();
+        }
+        CardEntry entry = bank.findCard(user, command.getCardNumber());
+        return entry == null ? List.of(user) : List.of(user, entry.account());
+    }
+
+    private static List<Object> checkCardStatus(final Bank bank, final CommandInput command) {
+        CardEntry entry = bank.findCard(command.getCardNumber());
+        return entry == null ? List.of() : List.of(entry.owner(), entry.account());
+    }
+}
@@ -0,0 +1,137 @@
+package org.poo.bank.commands;
+
+import org.poo.bank.Bank;
+import org.poo.bank.commands.account_commands.AddAccount;
+import org.poo.bank.commands.account_commands.AddFunds;
+import org.poo.bank.commands.account_commands.AddInterest;
+import org.poo.bank.commands.account_commands.ChangeInterestRate;
+import org.poo.bank.commands.account_commands.DeleteAccount;
+import org.poo.bank.commands.account_commands.SetAlias;
+import org.poo.bank.commands.account_commands.SetMinimumBalance;
+import org.poo.bank.commands.account_commands.WithdrawSavings;
+import org.poo.bank.commands.account_commands.card_commands.CheckCardStatus;
+import org.poo.bank.commands.account_commands.card_commands.CreateCard;
+import org.poo.bank.commands.account_commands.card_commands.CreateOneTimeCard;
+import org.poo.bank.commands.account_commands.card_commands.DeleteCard;
+import org.poo.bank.commands.pay_commands.AcceptSplitPayment;
+import org.poo.bank.commands.pay_commands.PayOnline;
+import org.poo.bank.commands.pay_commands.SendMoney;
+import org.poo.bank.commands.pay_commands.SplitPayment;
+import org.poo.bank.commands.plan_commands.UpgradePlan;
+import org.poo.bank.commands.print_commands.PrintTransactions;
+import org.poo.bank.commands.print_commands.PrintUsers;
+import org.poo.bank.commands.report_commands.Report;
+import org.poo.bank.commands.report_commands.SpendingsReport;
+import org.poo.bank.commands.response.CommandResponse;
+import org.poo.bank.commands.withdrawal.CashWithdrawal;
+import org.poo.fileio.CommandInput;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Asociaza fiecarui tip de comanda handler-ul sau. Handler-ele sunt construite o
+ * singura data, la crearea bancii, si nu pastreaza stare intre comenzi, asa ca
+ * executia unei comenzi nu mai aloca obiecte de procesare.
+ */
+public final class CommandRegistry {
+    private final Map<CommandType, BankCommand> handlers = new EnumMap<>(CommandType.class);
+
+    /**
+     * Construieste handler-ele tuturor comenzilor pentru banca data.
+     *
+     * @param bank Banca asupra careia lucreaza comenzile.
+     */
+    public CommandRegistry(final Bank bank) {
+        PrintUsers printUsers = new PrintUsers(bank.getUsers());
+        handlers.put(CommandType.PRINT_USERS, command -> List.of(new CommandResponse(
+                command.getCommand(), printUsers.execute(), command.getTimestamp())));
+        handlers.put(CommandType.ADD_ACCOUNT, silent(new AddAccount(bank)::addAccount));
+        handlers.put(CommandType.CREATE_CARD, silent(new CreateCard(bank)::createCard));
+        handlers.put(CommandType.CREATE_ONE_TIME_CARD,
+                silent(new CreateOneTimeCard(bank)::createOneTimeCard));
+        handlers.put(CommandType.ADD_FUNDS, silent(new AddFunds(bank)::addFunds));
+        DeleteAccount deleteAccount = new DeleteAccount(bank);
+        handlers.put(CommandType.DELETE_ACCOUNT,
+                command -> List.of(deleteAccount.deleteAccount(command)));
+        handlers.put(CommandType.DELETE_CARD, silent(new DeleteCard(bank)::deleteCard));
+        handlers.put(CommandType.SET_MINIMUM_BALANCE,
+                silent(new SetMinimumBalance(bank)::setMinimumBalance));
+        handlers.put(CommandType.PAY_ONLINE, new PayOnline(bank)::payOnline);
+        handlers.put(CommandType.SEND_MONEY, new SendMoney(bank)::sendMoney);
+        handlers.put(CommandType.SET_ALIAS, silent(new SetAlias(bank)::setAlias));
+        PrintTransactions printTransactions = new PrintTransactions(bank);
+        handlers.put(CommandType.PRINT_TRANSACTIONS, command -> List.of(new CommandResponse(
+                command.getCommand(), printTransactions.printTransactions(command),
+                command.getTimestamp())));
+        CheckCardStatus checkCardStatus = new CheckCardStatus();
+        handlers.put(CommandType.CHECK_CARD_STATUS,
+                command -> checkCardStatus.execute(command, bank));
+        ChangeInterestRate changeInterestRate = new ChangeInterestRate();
+        handlers.put(CommandType.CHANGE_INTEREST_RATE,
+                command -> changeInterestRate.execute(command, bank));
+        SplitPayment splitPayment = new SplitPayment(bank);
+        handlers.put(CommandType.SPLIT_PAYMENT, silent(command -> {
+            splitPayment.splitPayment(command);
+            bank.getProcessedCommands().add(command);
+        }));
+        SpendingsReport spendingsReport = new SpendingsReport();
+        handlers.put(CommandType.SPENDINGS_REPORT,
+                command -> List.of(spendingsReport.process(command, bank)));
+        Report report = new Report();
+        handlers.put(CommandType.REPORT, command -> List.of(report.process(command, bank)));
+        handlers.put(CommandType.ADD_INTEREST, new AddInterest(bank)::addInterest);
+        handlers.put(CommandType.WITHDRAW_SAVINGS,
+                silent(new WithdrawSavings(bank)::withdrawSavings));
+        handlers.put(CommandType.UPGRADE_PLAN, reporting(new UpgradePlan(bank)::execute));
+        handlers.put(CommandType.CASH_WITHDRAWAL, reporting(command ->
+                CashWithdrawal.executeCashWithdrawal(
+                        command.getCardNumber(),
+                        command.getAmount(),
+                        command.getEmail(),
+                        command.getLocation(),
+                        command.getTimestamp(),
+                        bank
+                )));
+        handlers.put(CommandType.ACCEPT_SPLIT_PAYMENT,
+                silent(new AcceptSplitPayment(bank)::acceptSplitPayment));
+    }
+
+    /**
+     * Returneaza handler-ul unui tip de comanda.
+     *
+     * @param type Tipul comenzii.
+     * @return Handler-ul inregistrat pentru tipul dat.
+     */
+    public BankCommand get(final CommandType type) {
+        return handlers.get(type);
+    }
+
+    /**
+     * Adapteaza un handler care nu produce output.
+     */
+    private static BankCommand silent(final Consumer<CommandInput> action) {
+        return command -> {
+            action.accept(command);
+            return Collections.emptyList();
+        };
+    }
+
+    /**
+     * Adapteaza un handler care isi semnaleaza esecul printr-un cod de eroare;
+     * un cod diferit de {@link CommandError#NONE} devine raspunsul comenzii.
+     */
+    private static BankCommand reporting(final Function<CommandInput, CommandError> action) {
+        return command -> {
+            CommandError error = action.apply(command);
+            if (error == CommandError.NONE) {
+                return Collections.emptyList();
+            }
+            return List.of(error.toResponse(command.getCommand(), command.getTimestamp()));
+        };
+    }
+}
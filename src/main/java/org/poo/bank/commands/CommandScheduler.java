@@ -0,0 +1,150 @@
+package org.poo.bank.commands;
+
+import org.poo.bank.Bank;
+import org.poo.fileio.CommandInput;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Executa comenzile unei banci in paralel acolo unde acestea nu intra in conflict.
+ * Comenzile consecutive ale caror amprente ({@link CommandFootprint}) sunt disjuncte
+ * formeaza un grup, impartit in cateva felii contigue care ruleaza concurent,
+ * fiecare pe un fir al pool-ului de lucru. Raspunsurile sunt
+ * scrise in ordinea din fisierul de intrare, asa ca output-ul este identic cu cel
+ * al executiei una dupa alta.
+ *
+ * Grupul curent este executat cand urmatoarea comanda atinge un obiect din grup,
+ * cand aceasta trebuie rulata singura sau cand grupul atinge dimensiunea maxima.
+ * Grupurile mai mici decat doua felii ruleaza pe firul apelant, iar pe o masina
+ * cu un singur procesor comenzile sunt executate direct, fara amprente.
+ */
+public final class CommandScheduler implements AutoCloseable {
+    private static final int MAX_GROUP_SIZE = 1024;
+    private static final int MIN_SLICE_SIZE = 64;
+    private static final int PARALLELISM = Runtime.getRuntime().availableProcessors();
+
+    private final Bank bank;
+    private final CommandHandler commandHandler;
+    private final ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor();
+    private final List<CommandInput> group = new ArrayList<>();
+    private final Set<Object> groupFootprint = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    /**
+     * Creeaza planificatorul de comenzi al unei banci.
+     *
+     * @param bank Banca asupra careia ruleaza comenzile.
+     * @param commandHandler Handler-ul care executa comenzile si scrie raspunsurile.
+     */
+    public CommandScheduler(final Bank bank, final CommandHandler commandHandler) {
+        this.bank = bank;
+        this.commandHandler = commandHandler;
+    }
+
+    /**
+     * Planifica o comanda. Comanda este adaugata in grupul curent daca nu intra in
+     * conflict cu acesta; altfel grupul este executat inainte.
+     *
+     * @param command Comanda care trebuie executata.
+     * @throws IOException daca rezultatele nu pot fi scrise.
+     */
+    public void submit(final CommandInput command) throws IOException {
+        if (PARALLELISM < 2) {
+            commandHandler.handleCommand(command);
+            return;
+        }
+        List<Object> footprint = CommandFootprint.resolve(bank,
+                CommandType.of(command.getCommand()), command);
+        if (footprint == null) {
+            flush();
+            commandHandler.handleCommand(command);
+            return;
+        }
+        if (group.size() == MAX_GROUP_SIZE || conflicts(footprint)) {
+            flush();
+        }
+        group.add(command);
+        groupFootprint.addAll(footprint);
+    }
+
+    /**
+     * Executa comenzile din grupul curent si scrie raspunsurile lor, in ordine.
+     *
+     * @throws IOException daca rezultatele nu pot fi scrise.
+     */
+    public void flush() throws IOException {
+        int slices = Math.min(PARALLELISM, group.size() / MIN_SLICE_SIZE);
+        if (slices < 2) {
+            for (CommandInput command : group) {
+                commandHandler.handleCommand(command);
+            }
+        } else {
+            List<Future<List<List<?>>>> results = new ArrayList<>(slices);
+            for (int i = 0; i < slices; i++) {
+                List<CommandInput> slice = group.subList(group.size() * i / slices,
+                        group.size() * (i + 1) / slices);
+                results.add(workers.submit(() -> process(slice)));
+            }
+            for (Future<List<List<?>>> result : results) {
+                for (List<?> responses : await(result)) {
+                    commandHandler.write(responses);
+                }
+            }
+        }
+        group.clear();
+        groupFootprint.clear();
+    }
+
+    /**
+     * Executa comenzile ramase si opreste pool-ul de lucru.
+     *
+     * @throws IOException daca rezultatele nu pot fi scrise.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            workers.close();
+        }
+    }
+
+    private List<List<?>> process(final List<CommandInput> slice) {
+        List<List<?>> responses = new ArrayList<>(slice.size());
+        for (CommandInput command : slice) {
+            responses.add(commandHandler.process(command));
+        }
+        return responses;
+    }
+
+    private boolean conflicts(final List<Object> footprint) {
+        for (Object touched : footprint) {
+            if (groupFootprint.contains(touched)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static <T> T await(final Future<T> result) {
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package org.poo.bank.commands;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Comenzile cunoscute de banca. Numele din fisierul de intrare este rezolvat o
+ * singura data intr-o constanta, iar constanta selecteaza direct handler-ul din
+ * {@link CommandRegistry}.
+ */
+public enum CommandType {
+    PRINT_USERS("printUsers"),
+    ADD_ACCOUNT("addAccount"),
+    CREATE_CARD("createCard"),
+    CREATE_ONE_TIME_CARD("createOneTimeCard"),
+    ADD_FUNDS("addFunds"),
+    DELETE_ACCOUNT("deleteAccount"),
+    DELETE_CARD("deleteCard"),
+    SET_MINIMUM_BALANCE("setMinimumBalance"),
+    PAY_ONLINE("payOnline"),
+    SEND_MONEY("sendMoney"),
+    SET_ALIAS("setAlias"),
+    PRINT_TRANSACTIONS("printTransactions"),
+    CHECK_CARD_STATUS("checkCardStatus"),
+    CHANGE_INTEREST_RATE("changeInterestRate"),
+    SPLIT_PAYMENT("splitPayment"),
+    SPENDINGS_REPORT("spendingsReport"),
+    REPORT("report"),
+    ADD_INTEREST("addInterest"),
+    WITHDRAW_SAVINGS("withdrawSavings"),
+    UPGRADE_PLAN("upgradePlan"),
+    CASH_WITHDRAWAL("cashWithdrawal"),
+    ACCEPT_SPLIT_PAYMENT("acceptSplitPayment");
+
+    private static final Map<String, CommandType> BY_NAME = new HashMap<>();
+
+    static {
+        for (CommandType type : values()) {
+            BY_NAME.put(type.commandName, type);
+        }
+    }
+
+    private final String commandName;
+
+    CommandType(final String commandName) {
+        this.commandName = commandName;
+    }
+
+    /**
+     * Rezolva numele unei comenzi din fisierul de intrare.
+     *
+     * @param commandName Numele comenzii.
+     * @return Tipul comenzii sau null daca numele nu este cunoscut.
+     */
+    public static CommandType of(final String commandName) {
+        return commandName == null ? null : BY_NAME.get(commandName);
+    }
+
+    /**
+     * Returneaza numele comenzii, asa cum apare in fisierul de intrare.
+     *
+     * @return Numele comenzii.
+     */
+    public String getCommandName() {
+        return commandName;
+    }
+}
@@ -1,18 +1,17 @@
 package org.poo.bank.commands.account_commands;
 
+import org.poo.bank.Bank;
 import org.poo.bank.account.Account;
-import org.poo.bank.transaction.Transaction;
 import org.poo.fileio.CommandInput;
 import org.poo.bank.user.User;
-import org.poo.utils.Utils;
-
-import java.util.List;
+import org.poo.bank.transaction.NoticeTransaction;
+import org.poo.bank.transaction.Transaction;
 
 public final class AddAccount {
-    private final List<User> users;
+    private final Bank bank;
 
-    public AddAccount(final List<User> users) {
-        this.users = users;
+    public AddAccount(final Bank bank) {
+        this.bank = bank;
     }
 
     /**
@@ -23,45 +22,32 @@ public final class AddAccount {
      * utilizator si detalii pentru contul nou.
      */
     public void addAccount(final CommandInput command) {
-        User user = User.findByEmail(users, command.getEmail());
+        User user = bank.findUser(command.getEmail());
 
         if (user == null) {
             System.out.println("User not found: " + command.getEmail());
             return;
         }
 
-        String iban = Utils.generateIBAN();
+        String iban = bank.getContext().getIdGenerator().generateIBAN();
 
         Account account = new Account.AccountBuilder(iban, command.getCurrency(),
                 command.getAccountType())
                 .balance(0)
                 .minimumBalance(0)
                 .interestRate(command.getInterestRate())
+                .ledger(bank.getLedger())
+                .context(bank.getContext())
                 .build();
 
         user.addAccount(account);
+        bank.registerAccount(user, account);
 
-        Transaction transaction = new Transaction(
-                command.getTimestamp(),
-                "New account created",
-                null,
-                iban,
-                0,
-                command.getCurrency(),
-                null,
-                null,
-                null,
-                null,
-                null,
-                null,
-                null,
-                true,
-                null,
-                null,
-                "addAccount"
-        );
+        Transaction transaction = new NoticeTransaction(
+                command.getTimestamp(), "New account created");
 
-        user.addTransaction(transaction);
-        account.addTransaction(transaction);
+        int offset = bank.getLedger().append(transaction);
+        user.addOffset(offset);
+        account.addOffset(offset);
     }
 }
@@ -1,17 +1,17 @@
 package org.poo.bank.commands.account_commands;
 
+import org.poo.bank.Bank;
 import org.poo.bank.account.Account;
-import org.poo.bank.transaction.Transaction;
+import org.poo.bank.account.AccountEntry;
 import org.poo.fileio.CommandInput;
-import org.poo.bank.user.User;
-
-import java.util.List;
+import org.poo.bank.transaction.InternalTransaction;
+import org.poo.bank.transaction.Transaction;
 
 public final class AddFunds {
-    private final List<User> users;
+    private final Bank bank;
 
-    public AddFunds(final List<User> users) {
-        this.users = users;
+    public AddFunds(final Bank bank) {
+        this.bank = bank;
     }
 
     /**
@@ -24,33 +24,14 @@ public final class AddFunds {
         String iban = command.getAccount();
         double amount = command.getAmount();
 
-        for (User user : users) {
-            Account account = user.getAccountByIBAN(iban);
-
-            if (account != null) {
-                account.addFunds(amount);
-                Transaction transaction = new Transaction(
-                        0,
-                        "Funds added",
-                        null,
-                        iban,
-                        amount,
-                        account.getCurrency(),
-                        "addFunds",
-                        null,
-                        null,
-                        null,
-                        null,
-                        null,
-                        null,
-                        true,
-                        null,
-                        null,
-                        "addFunds"
-                );
-                account.addTransaction(transaction);
-                break;
-            }
+        AccountEntry entry = bank.findAccount(iban);
+        if (entry == null) {
+            return;
         }
+
+        Account account = entry.account();
+        account.addFunds(amount);
+        Transaction transaction = new InternalTransaction(0, "Funds added");
+        account.addTransaction(transaction);
     }
 }
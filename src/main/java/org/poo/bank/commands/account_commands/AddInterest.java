@@ -1,72 +1,49 @@
 package org.poo.bank.commands.account_commands;
 
+import org.poo.bank.Bank;
 import org.poo.bank.account.Account;
-import org.poo.bank.transaction.Transaction;
+import org.poo.bank.account.AccountEntry;
+import org.poo.bank.commands.response.CommandResponse;
 import org.poo.fileio.CommandInput;
 import org.poo.bank.user.User;
+import org.poo.bank.transaction.InterestTransaction;
+import org.poo.bank.transaction.Transaction;
 
 import java.util.List;
-import java.util.Map;
 
 public final class AddInterest {
-    private final List<User> users;
+    private final Bank bank;
     private static final int PERCENTAGE_DIVISOR = 100;
 
-    public AddInterest(final List<User> users) {
-        this.users = users;
+    public AddInterest(final Bank bank) {
+        this.bank = bank;
     }
 
     /**
      * Adauga dobanda unui cont de economii specificat prin IBAN.
      *
      * @param command Obiectul de tip CommandInput care contine IBAN-ul contului si timestamp-ul comenzii.
-     * @return O lista cu un singur Map ce contine raspunsul comenzii in cazul in care contul nu este gasit
+     * @return O lista cu un singur raspuns al comenzii in cazul in care contul nu este gasit
      *         sau nu este un cont de economii. Lista este goala daca operatia are succes.
      */
 
-    public List<Map<String, Object>> addInterest(final CommandInput command) {
+    public List<CommandResponse> addInterest(final CommandInput command) {
         String targetIBAN = command.getAccount();
         int currentTimestamp = command.getTimestamp();
 
-        Account targetAccount = null;
-        User targetUser = null;
+        AccountEntry entry = bank.findAccount(targetIBAN);
 
-        for (User user : users) {
-            targetAccount = user.getAccountByIBAN(targetIBAN);
-            if (targetAccount != null) {
-                targetUser = user;
-                break;
-            }
+        if (entry == null) {
+            return List.of(CommandResponse.error("addInterest", "Account not found",
+                    currentTimestamp));
         }
 
-        if (targetAccount == null) {
-            Map<String, Object> output = Map.of(
-                    "description", "Account not found",
-                    "timestamp", currentTimestamp
-            );
-
-            Map<String, Object> response = Map.of(
-                    "command", "addInterest",
-                    "output", output,
-                    "timestamp", currentTimestamp
-            );
-
-            return List.of(response);
-        }
+        Account targetAccount = entry.account();
+        User targetUser = entry.owner();
 
         if (!"savings".equals(targetAccount.getType())) {
-            Map<String, Object> output = Map.of(
-                    "description", "This is not a savings account",
-                    "timestamp", currentTimestamp
-            );
-
-            Map<String, Object> response = Map.of(
-                    "command", "addInterest",
-                    "output", output,
-                    "timestamp", currentTimestamp
-            );
-
-            return List.of(response);
+            return List.of(CommandResponse.error("addInterest", "This is not a savings account",
+                    currentTimestamp));
         }
 
         double interestAmount = targetAccount.getBalance()
@@ -74,27 +51,12 @@ public final class AddInterest {
         targetAccount.addFunds(interestAmount);
 
         String description = "Interest rate income";
-        Transaction transaction = new Transaction(
-                command.getTimestamp(),
-                description,
-                null,
-                null,
-                interestAmount,
-                targetAccount.getCurrency(),
-                null,
-                null,
-                null,
-                null,
-                null,
-                null,
-                null,
-                true,
-                null,
-                null,
-                "addInterestRate");
+        Transaction transaction = new InterestTransaction(
+                command.getTimestamp(), description, interestAmount, targetAccount.getCurrency());
 
-        targetUser.addTransaction(transaction);
-        targetAccount.addTransaction(transaction);
+        int offset = bank.getLedger().append(transaction);
+        targetUser.addOffset(offset);
+        targetAccount.addOffset(offset);
 
         return List.of();
     }
@@ -1,12 +1,15 @@
 package org.poo.bank.commands.account_commands;
 
+import org.poo.bank.Bank;
 import org.poo.bank.account.Account;
-import org.poo.bank.transaction.Transaction;
+import org.poo.bank.account.AccountEntry;
+import org.poo.bank.commands.response.CommandResponse;
 import org.poo.fileio.CommandInput;
 import org.poo.bank.user.User;
+import org.poo.bank.transaction.NoticeTransaction;
+import org.poo.bank.transaction.Transaction;
 
 import java.util.List;
-import java.util.Map;
 
 
 public final class ChangeInterestRate {
@@ -15,79 +18,36 @@ public final class ChangeInterestRate {
      * Executa comanda de schimbare a ratei dobanzii pe un cont de economii.
      *
      * @param command Comanda care contine informatii despre contul vizat si noua rata a dobanzii.
-     * @param users Lista de utilizatori care sunt verificati pentru a gasi
-     * contul cu IBAN-ul corespunzator.
-     * @return O lista de harti care contin detaliile rezultatului comenzii.
-     *         In caz de eroare, va fi returnat un map cu mesajul corespunzator.
+     * @param bank Banca in al carei index se cauta contul cu IBAN-ul corespunzator.
+     * @return O lista goala daca rata a fost schimbata sau raspunsul de eroare
+     *         corespunzator.
      */
-    public List<Map<String, Object>> execute(final CommandInput command, final List<User> users) {
+    public List<CommandResponse> execute(final CommandInput command, final Bank bank) {
         String targetIBAN = command.getAccount();
         double newInterestRate = command.getInterestRate();
         int currentTimestamp = command.getTimestamp();
 
-        Account targetAccount = null;
-        User targetUser = null;
-        for (User user : users) {
-            targetAccount = user.getAccountByIBAN(targetIBAN);
-            if (targetAccount != null) {
-                targetUser = user;
-                break;
-            }
-        }
-
-        if (targetAccount == null) {
-            Map<String, Object> output = Map.of(
-                    "description", "Account not found",
-                    "timestamp", currentTimestamp
-            );
+        AccountEntry entry = bank.findAccount(targetIBAN);
 
-            Map<String, Object> response = Map.of(
-                    "command", "changeInterestRate",
-                    "output", output,
-                    "timestamp", currentTimestamp
-            );
-
-            return List.of(response);
+        if (entry == null) {
+            return List.of(CommandResponse.error("changeInterestRate", "Account not found",
+                    currentTimestamp));
 
         }
 
-        if (!"savings".equals(targetAccount.getType())) {
-            Map<String, Object> output = Map.of(
-                    "description", "This is not a savings account",
-                    "timestamp", currentTimestamp
-            );
-
-            Map<String, Object> response = Map.of(
-                    "command", "changeInterestRate",
-                    "output", output,
-                    "timestamp", currentTimestamp
-            );
+        Account targetAccount = entry.account();
+        User targetUser = entry.owner();
 
-            return List.of(response);
+        if (!"savings".equals(targetAccount.getType())) {
+            return List.of(CommandResponse.error("changeInterestRate",
+                    "This is not a savings account", currentTimestamp));
 
         }
 
         targetAccount.setInterestRate(newInterestRate);
 
-        Transaction newInterestRateTransaction = new Transaction(
-                currentTimestamp,
-                "Interest rate of the account changed to " + newInterestRate,
-                null,
-                null,
-                0,
-                null,
-                null,
-                null,
-                null,
-                null,
-                null,
-                null,
-                null,
-                true,
-                null,
-                null,
-                "changeInterestRate"
-        );
+        Transaction newInterestRateTransaction = new NoticeTransaction(
+                currentTimestamp, "Interest rate of the account changed to " + newInterestRate);
 
         targetUser.addTransaction(newInterestRateTransaction);
 
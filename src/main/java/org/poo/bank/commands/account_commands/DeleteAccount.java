@@ -1,19 +1,20 @@
 package org.poo.bank.commands.account_commands;
 
+import org.poo.bank.Bank;
 import org.poo.bank.account.Account;
-import org.poo.bank.transaction.Transaction;
+import org.poo.bank.cards.Card;
+import org.poo.bank.commands.response.CommandResponse;
+import org.poo.bank.commands.response.DeleteAccountOutput;
 import org.poo.fileio.CommandInput;
 import org.poo.bank.user.User;
-
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import org.poo.bank.transaction.NoticeTransaction;
+import org.poo.bank.transaction.Transaction;
 
 public final class DeleteAccount {
-    private final List<User> users;
+    private final Bank bank;
 
-    public DeleteAccount(final List<User> users) {
-        this.users = users;
+    public DeleteAccount(final Bank bank) {
+        this.bank = bank;
     }
 
     /**
@@ -23,61 +24,43 @@ public final class DeleteAccount {
      * @param command Comanda care contine detalii despre cont, email si timestamp.
      * @return Raspunsul care contine succesul sau eroarea operatiunii.
      */
-    public Map<String, Object> deleteAccount(final CommandInput command) {
+    public CommandResponse deleteAccount(final CommandInput command) {
         String iban = command.getAccount();
         String email = command.getEmail();
         int timestamp = command.getTimestamp();
 
-        Map<String, Object> response = new HashMap<>();
-        response.put("timestamp", timestamp);
-
-        User user = users.stream()
-                .filter(u -> u.getEmail().equalsIgnoreCase(email))
-                .findFirst()
-                .orElse(null);
+        User user = bank.findUser(email);
 
         if (user == null) {
-            response.put("error", "User not found");
-            return response;
+            return respond(DeleteAccountOutput.failed("User not found", timestamp));
         }
 
-        Account account = user.getAccountByIBAN(iban);
+        Account account = bank.findAccount(user, iban);
         if (account == null) {
-            response.put("error", "Account not found");
-            return response;
+            return respond(DeleteAccountOutput.failed("Account not found", timestamp));
         }
 
         if (account.getBalance() != 0) {
-            Transaction transaction = new Transaction(
-                    timestamp,
-                    "Account couldn't be deleted - there are funds remaining",
-                    null,
-                    iban,
-                    0,
-                    command.getCurrency(),
-                    null,
-                    null,
-                    null,
-                    null,
-                    null,
-                    null,
-                    null,
-                    true,
-                    null,
-                    null,
-                    "deleteAccountError"
-            );
+            Transaction transaction = new NoticeTransaction(
+                    timestamp, "Account couldn't be deleted - there are funds remaining");
 
             user.addTransaction(transaction);
-            response.put("error",
-                    "Account couldn't be deleted - see org.poo.transactions for details");
-            return response;
+            return respond(DeleteAccountOutput.failed(
+                    "Account couldn't be deleted - see org.poo.transactions for details",
+                    timestamp));
         }
 
+        for (Card card : account.getCards()) {
+            bank.unregisterCard(card);
+        }
         account.removeAllCards();
         user.removeAccount(account);
+        bank.unregisterAccount(account);
+
+        return respond(DeleteAccountOutput.deleted(timestamp));
+    }
 
-        response.put("success", true);
-        return response;
+    private static CommandResponse respond(final DeleteAccountOutput output) {
+        return new CommandResponse("deleteAccount", output, output.timestamp());
     }
 }
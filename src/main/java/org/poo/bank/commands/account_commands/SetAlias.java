@@ -1,16 +1,15 @@
 package org.poo.bank.commands.account_commands;
 
+import org.poo.bank.Bank;
 import org.poo.bank.account.Account;
 import org.poo.fileio.CommandInput;
 import org.poo.bank.user.User;
 
-import java.util.List;
-
 public final class SetAlias {
-    private List<User> users;
+    private final Bank bank;
 
-    public SetAlias(final List<User> users) {
-        this.users = users;
+    public SetAlias(final Bank bank) {
+        this.bank = bank;
     }
 
     /**
@@ -23,12 +22,12 @@ public final class SetAlias {
         String alias = command.getAlias();
         String iban = command.getAccount();
 
-        User user = User.findByEmail(users, command.getEmail());
+        User user = bank.findUser(command.getEmail());
         if (user == null) {
             return;
         }
 
-        Account account = user.getAccountByIBAN(iban);
+        Account account = bank.findAccount(user, iban);
         if (account == null) {
             return;
         }
@@ -1,16 +1,14 @@
 package org.poo.bank.commands.account_commands;
 
-import org.poo.bank.account.Account;
+import org.poo.bank.Bank;
+import org.poo.bank.account.AccountEntry;
 import org.poo.fileio.CommandInput;
-import org.poo.bank.user.User;
-
-import java.util.List;
 
 public final class SetMinimumBalance {
-    private final List<User> users;
+    private final Bank bank;
 
-    public SetMinimumBalance(final List<User> users) {
-        this.users = users;
+    public SetMinimumBalance(final Bank bank) {
+        this.bank = bank;
     }
 
     /**
@@ -23,12 +21,9 @@ public final class SetMinimumBalance {
         String iban = command.getAccount();
         double minimumBalance = command.getAmount();
 
-        for (User user : users) {
-            Account account = user.getAccountByIBAN(iban);
-            if (account != null) {
-                account.setMinimumBalance(minimumBalance);
-                return;
-            }
+        AccountEntry entry = bank.findAccount(iban);
+        if (entry != null) {
+            entry.account().setMinimumBalance(minimumBalance);
         }
     }
 }
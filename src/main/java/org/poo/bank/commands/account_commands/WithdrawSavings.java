@@ -1,75 +1,65 @@
 package org.poo.bank.commands.account_commands;
 
+import org.poo.bank.Bank;
 import org.poo.bank.account.Account;
-import org.poo.bank.transaction.Transaction;
+import org.poo.bank.account.AccountEntry;
 import org.poo.fileio.CommandInput;
 import org.poo.bank.user.User;
-import org.poo.bank.exchange_rates.ExchangeRate;
-
-import java.util.List;
-import java.util.Map;
+import org.poo.bank.transaction.NoticeTransaction;
+import org.poo.bank.transaction.SavingsWithdrawalTransaction;
+import org.poo.bank.transaction.Transaction;
 
 public final class WithdrawSavings {
-    private final List<User> users;
+    private final Bank bank;
     private static final int MINIMUM_AGE = 21;
 
     /**
      * Constructor pentru clasa WithdrawSavings.
      *
-     * @param users Lista de utilizatori care dețin conturi.
+     * @param bank Banca in care se cauta conturile.
      */
-    public WithdrawSavings(final List<User> users) {
-        this.users = users;
+    public WithdrawSavings(final Bank bank) {
+        this.bank = bank;
     }
 
     /**
      * Proceseaza o cerere de retragere dintr-un cont de economii.
      *
+     * Rezultatul, reusit sau nu, este inregistrat in istoricul de tranzactii al
+     * titularului.
+     *
      * @param command Obiectul de intrare care contine detaliile comenzii.
-     * @return O lista cu o singura intrare Map, care reprezintă rezultatul tranzactiei.
      */
-    public List<Map<String, Object>> withdrawSavings(final CommandInput command) {
+    public void withdrawSavings(final CommandInput command) {
         String savingsIBAN = command.getAccount();
         double amount = command.getAmount();
         String currency = command.getCurrency();
         int timestamp = command.getTimestamp();
 
-        Account savingsAccount = null;
-        User accountHolder = null;
-
-        for (User user : users) {
-            savingsAccount = user.getAccountByIBAN(savingsIBAN);
-            if (savingsAccount != null) {
-                accountHolder = user;
-                break;
-            }
-        }
+        AccountEntry entry = bank.findAccount(savingsIBAN);
+        Account savingsAccount = entry != null ? entry.account() : null;
+        User accountHolder = entry != null ? entry.owner() : null;
 
         String description;
-        String transactionType;
 
         if (savingsAccount == null) {
             description = "Account not found";
-            transactionType = "withdrawSavingsError";
         } else if (!"savings".equals(savingsAccount.getType())) {
             description = "Account is not of type savings.";
-            transactionType = "withdrawSavingsError";
         } else if (accountHolder.getAge() < MINIMUM_AGE) {
             description = "You don't have the minimum age required.";
-            transactionType = "withdrawSavingsError";
         } else if (savingsAccount.getBalance() < amount) {
             description = "Insufficient funds";
-            transactionType = "withdrawSavingsError";
         } else {
             Account classicAccount = accountHolder.getFirstClassicAccountByCurrency(currency);
             if (classicAccount == null) {
                 description = "You do not have a classic account.";
-                transactionType = "withdrawSavingsError";
             } else {
-                double equivalentAmount = ExchangeRate.convert(
-                        savingsAccount.getCurrency(),
-                        currency,
-                        amount
+                double equivalentAmount = bank.getExchangeRates().convertCurrency(
+                        savingsAccount.getCurrencyId(),
+                        classicAccount.getCurrencyId(),
+                        amount,
+                        timestamp
                 );
                 double fee = savingsAccount.calculateFee(equivalentAmount);
 
@@ -78,60 +68,22 @@ public final class WithdrawSavings {
                     classicAccount.addFunds(equivalentAmount);
 
                     description = "Savings withdrawal";
-                    transactionType = "withdrawSavings";
 
-                    Transaction successTransaction = new Transaction(
-                            timestamp,
-                            description,
-                            savingsIBAN,
-                            null,
-                            amount,
-                            savingsAccount.getCurrency(),
-                            null,
-                            null,
-                            null,
-                            null,
-                            null,
-                            null,
-                            null,
-                            true,
-                            null,
-                            null,
-                            transactionType
-                    );
+                    Transaction successTransaction = new SavingsWithdrawalTransaction(
+                            timestamp, description, amount, savingsAccount.getCurrency(),
+                            savingsIBAN);
                     accountHolder.addTransaction(successTransaction);
-                    return List.of(successTransaction.toMap());
+                    return;
                 } else {
                     description = "Insufficient funds";
-                    transactionType = "withdrawSavingsError";
                 }
             }
         }
 
-        Transaction errorTransaction = new Transaction(
-                timestamp,
-                description,
-                null,
-                null,
-                0,
-                savingsAccount != null ? savingsAccount.getCurrency() : currency,
-                null,
-                null,
-                null,
-                null,
-                null,
-                null,
-                null,
-                true,
-                null,
-                null,
-                transactionType
-        );
+        Transaction errorTransaction = new NoticeTransaction(timestamp, description);
 
         if (accountHolder != null) {
             accountHolder.addTransaction(errorTransaction);
         }
-
-        return List.of(errorTransaction.toMap());
     }
 }
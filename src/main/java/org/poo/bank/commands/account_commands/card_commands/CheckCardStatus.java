@@ -1,14 +1,16 @@
 package org.poo.bank.commands.account_commands.card_commands;
 
+import org.poo.bank.Bank;
 import org.poo.bank.account.Account;
-import org.poo.bank.cards.Card;
-import org.poo.bank.transaction.Transaction;
+import org.poo.bank.cards.CardEntry;
+import org.poo.bank.commands.response.CommandResponse;
 import org.poo.fileio.CommandInput;
 import org.poo.bank.user.User;
+import org.poo.bank.transaction.NoticeTransaction;
+import org.poo.bank.transaction.Transaction;
 
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.List;
-import java.util.Map;
 
 
 public final class CheckCardStatus {
@@ -19,57 +21,29 @@ public final class CheckCardStatus {
      * acesta va fii inghetat.
      *
      * @param command Comanda care contine detaliile cardului (cardNumber, timestamp).
-     * @param users   Lista de utilizatori in care se cauta cardul.
-     * @return Raspunsul in format Map, continand descrierea si timestamp-ul comenzii.
+     * @param bank    Banca in al carei index se cauta cardul.
+     * @return Raspunsul de eroare daca cardul nu exista, altfel o lista goala.
      */
-    public Map<String, Object> execute(final CommandInput command, final List<User> users) {
+    public List<CommandResponse> execute(final CommandInput command, final Bank bank) {
         String cardNumber = command.getCardNumber();
         int timestamp = command.getTimestamp();
 
-        User user = User.findByCardNumber(users, cardNumber);
+        CardEntry entry = bank.findCard(cardNumber);
         String description;
 
-        Map<String, Object> response = new HashMap<>();
-
-        if (user == null) {
-            description = "Card not found";
-            Map<String, Object> output = new HashMap<>();
-            output.put("description", description);
-            output.put("timestamp", timestamp);
-
-            response.put("command", "checkCardStatus");
-            response.put("output", output);
-            response.put("timestamp", timestamp);
+        if (entry == null) {
+            return List.of(CommandResponse.error("checkCardStatus", "Card not found",
+                    timestamp));
         } else {
-            Account account = Account.findByCardNumber(user, cardNumber);
-            if (account != null) {
-                Card card = account.getCardByNumber(cardNumber);
-                if (card != null && account.getBalance() <= account.getMinimumBalance()) {
-                    description = "You have reached the minimum amount of funds, "
-                            + "the card will be frozen";
-                    Transaction transaction = new Transaction(
-                            timestamp,
-                            description,
-                            account.getIban(),
-                            null,
-                            0,
-                            null,
-                            null,
-                            cardNumber,
-                            user.getEmail(),
-                            null,
-                            null,
-                            null,
-                            null,
-                            true,
-                            null,
-                            null,
-                            "checkCardStatusFrozen"
-                    );
-                    user.addTransaction(transaction);
-                }
+            User user = entry.owner();
+            Account account = entry.account();
+            if (account.getBalance() <= account.getMinimumBalance()) {
+                description = "You have reached the minimum amount of funds, "
+                        + "the card will be frozen";
+                Transaction transaction = new NoticeTransaction(timestamp, description);
+                user.addTransaction(transaction);
             }
         }
-        return response;
+        return Collections.emptyList();
     }
 }
@@ -1,19 +1,18 @@
 package org.poo.bank.commands.account_commands.card_commands;
 
+import org.poo.bank.Bank;
 import org.poo.bank.account.Account;
 import org.poo.bank.cards.Card;
-import org.poo.bank.transaction.Transaction;
 import org.poo.fileio.CommandInput;
 import org.poo.bank.user.User;
-import org.poo.utils.Utils;
-
-import java.util.List;
+import org.poo.bank.transaction.CardTransaction;
+import org.poo.bank.transaction.Transaction;
 
 public final class CreateCard {
-    private final List<User> users;
+    private final Bank bank;
 
-    public CreateCard(final List<User> users) {
-        this.users = users;
+    public CreateCard(final Bank bank) {
+        this.bank = bank;
     }
 
     /**
@@ -25,41 +24,27 @@ public final class CreateCard {
      * @param command Comanda care contine detalii despre utilizator, cont si timestamp.
      */
     public void createCard(final CommandInput command) {
-        User user = User.findByEmail(users, command.getEmail());
+        User user = bank.findUser(command.getEmail());
         if (user == null) {
             return;
         }
 
-        Account account = user.getAccountByIBAN(command.getAccount());
+        Account account = bank.findAccount(user, command.getAccount());
         if (account == null) {
             return;
         }
 
-        String cardNumber = Utils.generateCardNumber();
+        String cardNumber = bank.getContext().getIdGenerator().generateCardNumber();
         Card card = new Card(cardNumber, "active");
         account.addCard(card);
+        bank.registerCard(user, account, card);
 
-        Transaction transaction = new Transaction(
-                command.getTimestamp(),
-                "New card created",
-                null,
-                account.getIban(),
-                0,
-                account.getCurrency(),
-                null,
-                cardNumber,
-                user.getEmail(),
-                null,
-                null,
-                null,
-                null,
-                true,
-                null,
-                null,
-                "createCard"
-        );
+        Transaction transaction = new CardTransaction(
+                command.getTimestamp(), "New card created", cardNumber, user.getEmail(),
+                account.getIban());
 
-        user.addTransaction(transaction);
-        account.addTransaction(transaction);
+        int offset = bank.getLedger().append(transaction);
+        user.addOffset(offset);
+        account.addOffset(offset);
     }
 }
@@ -1,20 +1,18 @@
 package org.poo.bank.commands.account_commands.card_commands;
 
+import org.poo.bank.Bank;
 import org.poo.bank.account.Account;
 import org.poo.bank.cards.OneTimeCard;
-import org.poo.bank.transaction.Transaction;
 import org.poo.fileio.CommandInput;
 import org.poo.bank.user.User;
-import org.poo.utils.Utils;
-
-import java.util.List;
-
+import org.poo.bank.transaction.CardTransaction;
+import org.poo.bank.transaction.Transaction;
 
 public final class CreateOneTimeCard {
-    private final List<User> users;
+    private final Bank bank;
 
-    public CreateOneTimeCard(final List<User> users) {
-        this.users = users;
+    public CreateOneTimeCard(final Bank bank) {
+        this.bank = bank;
     }
 
     /**
@@ -25,41 +23,27 @@ public final class CreateOneTimeCard {
      * @param command Comanda care contine detalii despre utilizator, cont si timestamp.
      */
     public void createOneTimeCard(final CommandInput command) {
-        User user = User.findByEmail(users, command.getEmail());
+        User user = bank.findUser(command.getEmail());
         if (user == null) {
             return;
         }
 
-        Account account = user.getAccountByIBAN(command.getAccount());
+        Account account = bank.findAccount(user, command.getAccount());
         if (account == null) {
             return;
         }
 
-        String cardNumber = Utils.generateCardNumber();
+        String cardNumber = bank.getContext().getIdGenerator().generateCardNumber();
         OneTimeCard card = new OneTimeCard(cardNumber, "active");
         account.addCard(card);
+        bank.registerCard(user, account, card);
         String description = "New card created";
 
-        Transaction transaction = new Transaction(
-                command.getTimestamp(),
-                description,
-                null,
-                account.getIban(),
-                0,
-                account.getCurrency(),
-                null,
-                cardNumber,
-                user.getEmail(),
-                null,
-                null,
-                null,
-                null,
-                true,
-                null,
-                null,
-                "createCard"
-        );
-        account.addTransaction(transaction);
-        user.addTransaction(transaction);
+        Transaction transaction = new CardTransaction(
+                command.getTimestamp(), description, cardNumber, user.getEmail(),
+                account.getIban());
+        int offset = bank.getLedger().append(transaction);
+        account.addOffset(offset);
+        user.addOffset(offset);
     }
 }
@@ -1,18 +1,19 @@
 package org.poo.bank.commands.account_commands.card_commands;
 
+import org.poo.bank.Bank;
 import org.poo.bank.account.Account;
 import org.poo.bank.cards.Card;
-import org.poo.bank.transaction.Transaction;
+import org.poo.bank.cards.CardEntry;
 import org.poo.fileio.CommandInput;
 import org.poo.bank.user.User;
-
-import java.util.List;
+import org.poo.bank.transaction.CardTransaction;
+import org.poo.bank.transaction.Transaction;
 
 public final class DeleteCard {
-    private final List<User> users;
+    private final Bank bank;
 
-    public DeleteCard(final List<User> users) {
-        this.users = users;
+    public DeleteCard(final Bank bank) {
+        this.bank = bank;
     }
 
     /**
@@ -22,38 +23,24 @@ public final class DeleteCard {
      * @param command Comanda care contine detaliile cardului.
      */
     public void deleteCard(final CommandInput command) {
-        User user = User.findByEmail(users, command.getEmail());
+        User user = bank.findUser(command.getEmail());
         if (user == null) {
             return;
         }
 
-        for (Account account : user.getAccounts()) {
-            Card card = account.getCardByNumber(command.getCardNumber());
-            if (card != null) {
-                account.removeCard(card);
-                Transaction transaction = new Transaction(
-                        command.getTimestamp(),
-                        "The card has been destroyed",
-                        account.getIban(),
-                        null,
-                        0,
-                        account.getCurrency(),
-                        null,
-                        card.getCardNumber(),
-                        user.getEmail(),
-                        null,
-                        null,
-                        null,
-                        null,
-                        true,
-                        null,
-                        null,
-                        "deleteCard"
-                );
-
-                user.addTransaction(transaction);
-                return;
-            }
+        CardEntry entry = bank.findCard(user, command.getCardNumber());
+        if (entry == null) {
+            return;
         }
+
+        Account account = entry.account();
+        Card card = entry.card();
+        bank.unregisterCard(card);
+        account.removeCard(card);
+        Transaction transaction = new CardTransaction(
+                command.getTimestamp(), "The card has been destroyed", card.getCardNumber(),
+                user.getEmail(), account.getIban());
+
+        user.addTransaction(transaction);
     }
 }
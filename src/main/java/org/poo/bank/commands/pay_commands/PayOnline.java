@@ -1,20 +1,23 @@
 package org.poo.bank.commands.pay_commands;
 
+import org.poo.bank.Bank;
 import org.poo.bank.account.Account;
 import org.poo.bank.cards.Card;
+import org.poo.bank.cards.CardEntry;
 import org.poo.bank.cards.OneTimeCard;
-import org.poo.bank.transaction.Transaction;
 import org.poo.fileio.CommandInput;
-import org.poo.bank.exchange_rates.ExchangeRateManager;
+import org.poo.bank.exchange_rates.CurrencyRegistry;
+import org.poo.bank.exchange_rates.ExchangeRateSnapshot;
 import org.poo.bank.user.User;
-import org.poo.utils.Utils;
 import org.poo.bank.cashback.Cashback;
+import org.poo.bank.commands.response.CommandResponse;
 import org.poo.fileio.CommerciantInput;
+import org.poo.bank.transaction.CardTransaction;
+import org.poo.bank.transaction.NoticeTransaction;
+import org.poo.bank.transaction.PaymentTransaction;
+import org.poo.bank.transaction.Transaction;
 
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Collections;
 
 public final class PayOnline {
@@ -23,13 +26,12 @@ public final class PayOnline {
     private static final double SILVER_COMMISSION_PERCENTAGE = 0.1;
     private static final double STANDARD_COMMISSION_PERCENTAGE = 0.2;
     private static final double PERCENTAGE = 100;
+    private static final String COMMAND = "payOnline";
 
-    private List<User> users;
-    private List<CommerciantInput> commerciants;
+    private final Bank bank;
 
-    public PayOnline(final List<User> users, final List<CommerciantInput> commerciants) {
-        this.users = users;
-        this.commerciants = commerciants;
+    public PayOnline(final Bank bank) {
+        this.bank = bank;
     }
 
     /**
@@ -44,61 +46,43 @@ public final class PayOnline {
      *
      * @param command Comanda care contine detaliile platii.
      *
-     * @return O lista de harti de raspuns care contin statusul comenzii,
+     * @return O lista de raspunsuri care contin statusul comenzii,
      * incluzand erorile, daca este cazul.
      *         O lista goala indica procesarea cu succes.
      */
-    public List<Map<String, Object>> payOnline(final CommandInput command) {
-        List<Map<String, Object>> output = new ArrayList<>();
-
-        User user = User.findByEmail(users, command.getEmail());
+    public List<CommandResponse> payOnline(final CommandInput command) {
+        User user = bank.findUser(command.getEmail());
         if (user == null) {
-            Map<String, Object> errorNode = new HashMap<>();
-            errorNode.put("description", "User not found");
-            Map<String, Object> response = new HashMap<>();
-            response.put("command", "payOnline");
-            response.put("output", errorNode);
-            output.add(response);
-            return output;
+            return List.of(CommandResponse.error(COMMAND, "User not found",
+                    command.getTimestamp()));
         }
 
-        Account account = null;
-        Card card = null;
-
-        for (Account acc : user.getAccounts()) {
-            card = acc.getCardByNumber(command.getCardNumber());
-            if (card != null) {
-                account = acc;
-                break;
-            }
-        }
+        CardEntry cardEntry = bank.findCard(user, command.getCardNumber());
 
-        if (card == null) {
-            Map<String, Object> errorNode = new HashMap<>();
-            errorNode.put("description", "Card not found");
-            Map<String, Object> response = new HashMap<>();
-            response.put("command", "payOnline");
-            response.put("output", errorNode);
-            output.add(response);
-            return output;
+        if (cardEntry == null) {
+            return List.of(CommandResponse.error(COMMAND, "Card not found",
+                    command.getTimestamp()));
         }
 
+        Account account = cardEntry.account();
+        Card card = cardEntry.card();
+        ExchangeRateSnapshot exchangeRates = bank.getExchangeRates();
         double amount = command.getAmount();
-        String currency = command.getCurrency();
+        int currencyId = bank.getContext().getCurrencyRegistry().lookup(command.getCurrency());
+        if (currencyId < 0) {
+            // Moneda nu apare in niciun curs de schimb si in niciun cont.
+            return List.of(CommandResponse.error(COMMAND,
+                    "Exchange rates not available", command.getTimestamp()));
+        }
         double availableBalance = account.getBalance();
 
-        if (!currency.equalsIgnoreCase(account.getCurrency())) {
+        if (currencyId != account.getCurrencyId()) {
             try {
-                amount = ExchangeRateManager.getInstance()
-                        .convertCurrency(currency, account.getCurrency(), amount);
+                amount = exchangeRates.convertCurrency(currencyId, account.getCurrencyId(),
+                        amount, command.getTimestamp());
             } catch (IllegalArgumentException e) {
-                Map<String, Object> errorNode = new HashMap<>();
-                errorNode.put("description", "Exchange rates not available");
-                Map<String, Object> response = new HashMap<>();
-                response.put("command", "payOnline");
-                response.put("output", errorNode);
-                output.add(response);
-                return output;
+                return List.of(CommandResponse.error(COMMAND,
+                        "Exchange rates not available", command.getTimestamp()));
             }
         }
 
@@ -116,18 +100,13 @@ public final class PayOnline {
 
                 case "silver":
                     double amountInRON = amount;
-                    if (!currency.equalsIgnoreCase("RON")) {
+                    if (currencyId != CurrencyRegistry.RON_ID) {
                         try {
-                            amountInRON = ExchangeRateManager.getInstance()
-                                    .convertCurrency(currency, "RON", amount);
+                            amountInRON = exchangeRates.convertCurrency(currencyId,
+                                    CurrencyRegistry.RON_ID, amount, command.getTimestamp());
                         } catch (IllegalArgumentException e) {
-                            Map<String, Object> errorNode = new HashMap<>();
-                            errorNode.put("description", "Exchange rates not available");
-                            Map<String, Object> response = new HashMap<>();
-                            response.put("command", "payOnline");
-                            response.put("output", errorNode);
-                            output.add(response);
-                            return output;
+                            return List.of(CommandResponse.error(COMMAND,
+                                    "Exchange rates not available", command.getTimestamp()));
                         }
                     }
 
@@ -150,37 +129,16 @@ public final class PayOnline {
             }
 
         } catch (IllegalArgumentException e) {
-            Map<String, Object> errorNode = new HashMap<>();
-            errorNode.put("description", "Error calculating commission");
-            Map<String, Object> response = new HashMap<>();
-            response.put("command", "payOnline");
-            response.put("output", errorNode);
-            output.add(response);
-            return output;
+            return List.of(CommandResponse.error(COMMAND,
+                    "Error calculating commission", command.getTimestamp()));
         }
 
         if (availableBalance < amount + comisionInAccountCurrency
                 && card.getStatus().equals("active")) {
-            Transaction transaction1 = new Transaction(
-                    command.getTimestamp(),
-                    "Insufficient funds",
-                    null,
-                    null,
-                    0,
-                    account.getCurrency(),
-                    "payment",
-                    command.getCardNumber(),
-                    user.getEmail(), null,
-                    null,
-                    null,
-                    null,
-                    true,
-                    null,
-                    null,
-                    "payOnlineInsufficientFunds"
-            );
+            Transaction transaction1 = new NoticeTransaction(
+                    command.getTimestamp(), "Insufficient funds");
             user.addTransaction(transaction1);
-            return output;
+            return Collections.emptyList();
         }
 
         if (comisionInAccountCurrency > 0.0) {
@@ -189,104 +147,51 @@ public final class PayOnline {
 
         account.withdrawFunds(amount);
         if (amount > 0) {
-            Transaction transaction = new Transaction(
-                    command.getTimestamp(),
-                    "Card payment",
-                    account.getIban(),
-                    command.getCommerciant(),
-                    amount,
-                    account.getCurrency(),
-                    "payment",
-                    command.getCardNumber(),
-                    user.getEmail(),
-                    command.getCommerciant(),
-                    null,
-                    null,
-                    null,
-                    true,
-                    null,
-                    null,
-                    "payOnline"
-            );
+            Transaction transaction = new PaymentTransaction(
+                    command.getTimestamp(), "Card payment", command.getCommerciant(), amount);
 
-            user.addTransaction(transaction);
-            account.addTransaction(transaction);
+            int offset = bank.getLedger().append(transaction);
+            user.addOffset(offset);
+            account.addOffset(offset);
         }
 
-        Cashback cashback = new Cashback();
+        Cashback cashback = bank.getCashback();
         String userPlan = user.getPlan();
-        CommerciantInput commerciantObj = findCommerciant(command.getCommerciant());
+        CommerciantInput commerciantObj = bank.getCommerciantDirectory()
+                .findByName(command.getCommerciant());
         double cashbackAmount = cashback.applyCashback(
                 user.getEmail(),
                 command.getCommerciant(),
                 command.getAmount(),
                 userPlan,
                 commerciantObj,
-                command.getCurrency(),
-                account.getCurrency(),
-                ExchangeRateManager.getInstance(),
-                account);
+                currencyId,
+                account.getCurrencyId(),
+                exchangeRates,
+                account,
+                command.getTimestamp());
 
         account.addFunds(cashbackAmount);
 
         if (card instanceof OneTimeCard) {
-            Transaction destroyCardTransaction = new Transaction(
-                    command.getTimestamp(),
-                    "The card has been destroyed",
-                    account.getIban(),
-                    null,
-                    0,
-                    account.getCurrency(),
-                    "other",
-                    card.getCardNumber(),
-                    user.getEmail(),
-                    null,
-                    null,
-                    null,
-                    null,
-                    true,
-                    null,
-                    null,
-                    "destroyOneTimeCard"
-            );
-            user.addTransaction(destroyCardTransaction);
-            account.addTransaction(destroyCardTransaction);
-            String newCardNumber = Utils.generateCardNumber();
-            card.setCardNumber(newCardNumber);
+            Transaction destroyCardTransaction = new CardTransaction(
+                    command.getTimestamp(), "The card has been destroyed", card.getCardNumber(),
+                    user.getEmail(), account.getIban());
+            int destroyCardOffset = bank.getLedger().append(destroyCardTransaction);
+            user.addOffset(destroyCardOffset);
+            account.addOffset(destroyCardOffset);
+            String newCardNumber = bank.getContext().getIdGenerator().generateCardNumber();
+            bank.updateCardNumber(card, newCardNumber);
             card.setStatus("active");
 
-            Transaction newCardTransaction = new Transaction(
-                    command.getTimestamp(),
-                    "New card created",
-                    account.getIban(),
-                    null,
-                    0,
-                    account.getCurrency(),
-                    "other",
-                    newCardNumber,
-                    user.getEmail(),
-                    null,
-                    null,
-                    null,
-                    null,
-                    true,
-                    null,
-                    null,
-                    "newOneTimeCard"
-            );
-            user.addTransaction(newCardTransaction);
-            account.addTransaction(newCardTransaction);
+            Transaction newCardTransaction = new CardTransaction(
+                    command.getTimestamp(), "New card created", newCardNumber, user.getEmail(),
+                    account.getIban());
+            int newCardOffset = bank.getLedger().append(newCardTransaction);
+            user.addOffset(newCardOffset);
+            account.addOffset(newCardOffset);
         }
 
         return Collections.emptyList();
     }
-
-    private CommerciantInput findCommerciant(final String commerciantName) {
-        for (CommerciantInput commerciant : commerciants) {
-            if (commerciant.getCommerciant().equalsIgnoreCase(commerciantName)) {
-                return commerciant;
-            }
-        }
-        return null;
-    }
 }
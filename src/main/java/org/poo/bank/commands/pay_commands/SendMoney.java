@@ -1,15 +1,18 @@
 package org.poo.bank.commands.pay_commands;
 
+import org.poo.bank.Bank;
 import org.poo.bank.account.Account;
-import org.poo.bank.transaction.Transaction;
+import org.poo.bank.account.AccountEntry;
+import org.poo.bank.commands.response.CommandResponse;
 import org.poo.fileio.CommandInput;
-import org.poo.bank.exchange_rates.ExchangeRateManager;
+import org.poo.bank.exchange_rates.CurrencyRegistry;
+import org.poo.bank.exchange_rates.ExchangeRateSnapshot;
 import org.poo.bank.user.User;
+import org.poo.bank.transaction.NoticeTransaction;
+import org.poo.bank.transaction.TransferTransaction;
+import org.poo.bank.transaction.Transaction;
 
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Collections;
 
 public final class SendMoney {
@@ -19,10 +22,10 @@ public final class SendMoney {
     private static final double STANDARD_COMMISSION_PERCENTAGE = 0.2;
     private static final double PERCENTAGE_DIVISOR = 100.0;
 
-    private final List<User> users;
+    private final Bank bank;
 
-    public SendMoney(final List<User> users) {
-        this.users = users;
+    public SendMoney(final Bank bank) {
+        this.bank = bank;
     }
 
     /**
@@ -30,14 +33,24 @@ public final class SendMoney {
      * Aceasta metoda verifica daca contul expeditorului si destinatarului exista,
      * daca expeditorul are suficiente fonduri si se efectueaza tranzactia.
      * In cazul in care monedele diferite sunt implicate, se efectueaza conversia valutara.
-     * Daca tranzactia nu poate fi realizata, sunt adaugate erori corespunzatoare in
-     * lista de iesire.
+     * Doar lipsa destinatarului si operatiile invalide asupra conturilor produc
+     * un raspuns in output; celelalte esecuri sunt vizibile in istoricul de
+     * tranzactii.
      *
      * @param command comanda care contine detaliile tranzactiei.
-     * @return lista de erori, daca exista, sau lista goala daca tranzactia a avut succes
+     * @return raspunsul de eroare daca destinatarul nu exista sau transferul nu
+     * poate fi efectuat, altfel o lista goala
      */
-    public List<Map<String, Object>> sendMoney(final CommandInput command) {
-        List<Map<String, Object>> output = new ArrayList<>();
+    public List<CommandResponse> sendMoney(final CommandInput command) {
+        try {
+            return transfer(command);
+        } catch (IllegalArgumentException e) {
+            return List.of(CommandResponse.error("sendMoney", e.getMessage(),
+                    command.getTimestamp()));
+        }
+    }
+
+    private List<CommandResponse> transfer(final CommandInput command) {
         String senderIBAN = command.getAccount();
         String receiverIBAN = command.getReceiver();
         double amount = command.getAmount();
@@ -45,61 +58,39 @@ public final class SendMoney {
         int timestamp = command.getTimestamp();
 
         if (amount <= 0) {
-            Map<String, Object> error = new HashMap<>();
-            error.put("description", "Invalid amount");
-            output.add(error);
-            return output;
-        }
-
-        Account senderAccount = null;
-        User senderUser = null;
-        for (User user : users) {
-            senderAccount = user.getAccountByIBAN(senderIBAN);
-            if (senderAccount != null) {
-                senderUser = user;
-                break;
-            }
+            return Collections.emptyList();
         }
 
-        if (senderAccount == null) {
-            Map<String, Object> error = new HashMap<>();
-            error.put("description", "Sender account not found");
-            output.add(error);
-            return output;
+        AccountEntry senderEntry = bank.findAccount(senderIBAN);
+        if (senderEntry == null) {
+            return Collections.emptyList();
         }
 
-        Account receiverAccount = null;
-        User receiverUser = null;
-        for (User user : users) {
-            receiverAccount = user.getAccountByIBAN(receiverIBAN);
-            if (receiverAccount != null) {
-                receiverUser = user;
-                break;
-            }
+        AccountEntry receiverEntry = bank.findAccount(receiverIBAN);
+        if (receiverEntry == null) {
+            return List.of(CommandResponse.error("sendMoney", "User not found",
+                    timestamp));
         }
 
-        if (receiverAccount == null) {
-            Map<String, Object> error = new HashMap<>();
-            error.put("description", "User not found");
-            output.add(error);
-            return output;
-        }
+        Account senderAccount = senderEntry.account();
+        User senderUser = senderEntry.owner();
+        Account receiverAccount = receiverEntry.account();
+        User receiverUser = receiverEntry.owner();
 
+        ExchangeRateSnapshot exchangeRates = bank.getExchangeRates();
         double convertedAmount = amount;
         double amountRON;
 
-        if (!senderAccount.getCurrency().equalsIgnoreCase(receiverAccount.getCurrency())) {
+        if (senderAccount.getCurrencyId() != receiverAccount.getCurrencyId()) {
             try {
-                convertedAmount = ExchangeRateManager.getInstance().convertCurrency(
-                        senderAccount.getCurrency(),
-                        receiverAccount.getCurrency(),
-                        amount
+                convertedAmount = exchangeRates.convertCurrency(
+                        senderAccount.getCurrencyId(),
+                        receiverAccount.getCurrencyId(),
+                        amount,
+                        timestamp
                 );
             } catch (IllegalArgumentException e) {
-                Map<String, Object> error = new HashMap<>();
-                error.put("description", "Exchange rates not available");
-                output.add(error);
-                return output;
+                return Collections.emptyList();
             }
         }
 
@@ -108,11 +99,12 @@ public final class SendMoney {
 
         try {
             String userPlan = senderUser.getPlan();
-            if (!senderAccount.getCurrency().equalsIgnoreCase("RON")) {
-                amountRON = ExchangeRateManager.getInstance().convertCurrency(
-                        senderAccount.getCurrency(),
-                        "RON",
-                        amount
+            if (senderAccount.getCurrencyId() != CurrencyRegistry.RON_ID) {
+                amountRON = exchangeRates.convertCurrency(
+                        senderAccount.getCurrencyId(),
+                        CurrencyRegistry.RON_ID,
+                        amount,
+                        timestamp
                 );
             } else {
                 amountRON = amount;
@@ -139,11 +131,12 @@ public final class SendMoney {
                     break;
             }
 
-            if (!senderAccount.getCurrency().equalsIgnoreCase("RON")) {
-                comisionInAccountCurrency = ExchangeRateManager.getInstance().convertCurrency(
-                        "RON",
-                        senderAccount.getCurrency(),
-                        comision
+            if (senderAccount.getCurrencyId() != CurrencyRegistry.RON_ID) {
+                comisionInAccountCurrency = exchangeRates.convertCurrency(
+                        CurrencyRegistry.RON_ID,
+                        senderAccount.getCurrencyId(),
+                        comision,
+                        timestamp
                 );
             } else {
                 comisionInAccountCurrency = comision;
@@ -151,10 +144,7 @@ public final class SendMoney {
 
             if (comisionInAccountCurrency > 0.0) {
                 if (senderAccount.getBalance() < comisionInAccountCurrency) {
-                    Map<String, Object> error = new HashMap<>();
-                    error.put("description", "Insufficient funds to cover the commission");
-                    output.add(error);
-                    return output;
+                    return Collections.emptyList();
                 }
 
                 if (senderAccount.getBalance() > amount + comisionInAccountCurrency) {
@@ -163,89 +153,39 @@ public final class SendMoney {
             }
 
         } catch (IllegalArgumentException e) {
-            Map<String, Object> error = new HashMap<>();
-            error.put("description", "Exchange rates not available for commission calculation");
-            output.add(error);
-            return output;
+            return Collections.emptyList();
         }
 
         if (senderAccount.getBalance() < amount + comisionInAccountCurrency) {
-            Transaction insufficientFundsTransaction = new Transaction(
-                    timestamp,
-                    "Insufficient funds",
-                    senderIBAN,
-                    receiverIBAN,
-                    amount,
-                    senderAccount.getCurrency(),
-                    null,
-                    null,
-                    null,
-                    null,
-                    null,
-                    null,
-                    null,
-                    true,
-                    null,
-                    null,
-                    "sendMoneyInsufficientFunds"
-            );
-            senderUser.addTransaction(insufficientFundsTransaction);
-            senderAccount.addTransaction(insufficientFundsTransaction);
-
-            Map<String, Object> error = new HashMap<>();
-            error.put("description", "Insufficient funds in sender account");
-            output.add(error);
-            return output;
+            Transaction insufficientFundsTransaction = new NoticeTransaction(
+                    timestamp, "Insufficient funds");
+            int offset = bank.getLedger().append(insufficientFundsTransaction);
+            senderUser.addOffset(offset);
+            senderAccount.addOffset(offset);
+
+            return Collections.emptyList();
         }
 
         senderAccount.withdrawFunds(amount);
         receiverAccount.addFunds(convertedAmount);
 
-        Transaction senderTransaction = new Transaction(
-                timestamp,
-                description,
-                senderIBAN,
-                receiverIBAN,
-                Double.parseDouble(String.format("%.14f", amount)),
-                senderAccount.getCurrency(),
-                "sent",
-                null,
-                null,
-                null,
-                null,
-                null,
-                null,
-                true,
-                null,
-                null,
-                "sendMoney"
-        );
-
-        Transaction receiverTransaction = new Transaction(
-                timestamp,
-                description,
-                senderIBAN,
-                receiverIBAN,
+        Transaction senderTransaction = new TransferTransaction(
+                timestamp, description, senderIBAN, receiverIBAN,
+                Double.parseDouble(String.format("%.14f", amount)), senderAccount.getCurrency(),
+                "sent");
+
+        Transaction receiverTransaction = new TransferTransaction(
+                timestamp, description, senderIBAN, receiverIBAN,
                 Double.parseDouble(String.format("%.14f", convertedAmount)),
-                receiverAccount.getCurrency(),
-                "received",
-                null,
-                null,
-                null,
-                null,
-                null,
-                null,
-                true,
-                null,
-                null,
-                "sendMoney"
-        );
-
-        senderUser.addTransaction(senderTransaction);
-        senderAccount.addTransaction(senderTransaction);
-
-        receiverUser.addTransaction(receiverTransaction);
-        receiverAccount.addTransaction(receiverTransaction);
+                receiverAccount.getCurrency(), "received");
+
+        int senderOffset = bank.getLedger().append(senderTransaction);
+        senderUser.addOffset(senderOffset);
+        senderAccount.addOffset(senderOffset);
+
+        int receiverOffset = bank.getLedger().append(receiverTransaction);
+        receiverUser.addOffset(receiverOffset);
+        receiverAccount.addOffset(receiverOffset);
 
         return Collections.emptyList();
     }
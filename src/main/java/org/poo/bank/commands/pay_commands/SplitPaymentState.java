@@ -0,0 +1,74 @@
+package org.poo.bank.commands.pay_commands;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Starea platii impartite aflate in asteptare intr-o rulare: conturile implicate,
+ * suma datorata de fiecare, conturile care au acceptat, moneda si momentul platii.
+ */
+public final class SplitPaymentState {
+    private final List<String> accounts = new ArrayList<>();
+    private final Map<String, Boolean> accountsAcceptingPayment = new HashMap<>();
+    private List<Double> amountForUsers;
+    private String currency;
+    private int timestamp;
+
+    /**
+     * Incepe o plata impartita noua, renuntand la cea anterioara.
+     *
+     * @param newCurrency Moneda platii.
+     * @param newTimestamp Momentul platii.
+     * @param newAmountForUsers Suma datorata de fiecare cont.
+     */
+    public void begin(final String newCurrency, final int newTimestamp,
+                      final List<Double> newAmountForUsers) {
+        reset();
+        this.currency = newCurrency;
+        this.timestamp = newTimestamp;
+        this.amountForUsers = newAmountForUsers;
+    }
+
+    /**
+     * Adauga un cont in plata, ca neacceptat inca.
+     *
+     * @param iban IBAN-ul contului.
+     */
+    public void addAccount(final String iban) {
+        accounts.add(iban);
+        accountsAcceptingPayment.put(iban, false);
+    }
+
+    /**
+     * Reseteaza starea platii impartite.
+     */
+    public void reset() {
+        accounts.clear();
+        accountsAcceptingPayment.clear();
+        amountForUsers = null;
+        currency = null;
+        timestamp = 0;
+    }
+
+    public List<String> getAccounts() {
+        return accounts;
+    }
+
+    public Map<String, Boolean> getAccountsAcceptingPayment() {
+        return accountsAcceptingPayment;
+    }
+
+    public List<Double> getAmountForUsers() {
+        return amountForUsers;
+    }
+
+    public String getCurrency() {
+        return currency;
+    }
+
+    public int getTimestamp() {
+        return timestamp;
+    }
+}
@@ -1,103 +1,75 @@
 package org.poo.bank.commands.plan_commands;
 
+import org.poo.bank.Bank;
 import org.poo.bank.account.Account;
-import org.poo.bank.exchange_rates.ExchangeRateManager;
-import org.poo.bank.transaction.Transaction;
+import org.poo.bank.account.AccountEntry;
+import org.poo.bank.commands.CommandError;
+import org.poo.bank.exchange_rates.CurrencyRegistry;
 import org.poo.bank.user.User;
 import org.poo.fileio.CommandInput;
+import org.poo.bank.transaction.PlanUpgradeTransaction;
+import org.poo.bank.transaction.Transaction;
 
 import java.util.List;
 
 public class UpgradePlan {
-    private final List<User> users;
+    private final Bank bank;
     private static final double SILVER_UPGRADE_FEE = 100.0;
     private static final double GOLD_UPGRADE_FEE_SILVER_TO_GOLD = 250.0;
     private static final double GOLD_UPGRADE_FEE_STANDARD_TO_GOLD = 350.0;
 
-    public UpgradePlan(final List<User> users) {
-        this.users = users;
+    public UpgradePlan(final Bank bank) {
+        this.bank = bank;
     }
 
     /**
      * Proceseaza comanda de upgrade a planului utilizatorului.
      *
      * @param command Comanda ce contine informatiile necesare pentru upgrade-ul planului
-     * @throws IllegalArgumentException daca utilizatorul nu este gasit,
-     * nu are suficiente fonduri sau daca planul nu poate fi schimbat.
+     * @return {@link CommandError#NONE} daca planul a fost schimbat, altfel codul erorii:
+     * contul nu este gasit, fondurile nu sunt suficiente sau planul nu poate fi schimbat.
      */
-    public void execute(final CommandInput command) {
-        final User user = findUserByAccount(command.getAccount());
-        if (user == null) {
-            throw new IllegalArgumentException("Account not found");
+    public CommandError execute(final CommandInput command) {
+        final AccountEntry entry = bank.findAccount(command.getAccount());
+        if (entry == null) {
+            return CommandError.ACCOUNT_NOT_FOUND;
         }
 
-        final Account account = user.getAccountByIBAN(command.getAccount());
-        if (account == null) {
-            throw new IllegalArgumentException("Account not found");
-        }
+        final User user = entry.owner();
+        final Account account = entry.account();
 
         final String currentPlan = user.getPlan() == null ? "standard" : user.getPlan();
         final String newPlan = command.getNewPlanType();
 
         if (currentPlan.equals(newPlan)) {
-            throw new IllegalArgumentException("The user already has the " + newPlan + " plan.");
+            return CommandError.alreadyHasPlan(newPlan);
         }
 
         if (isDowngrade(currentPlan, newPlan)) {
-            throw new IllegalArgumentException("You cannot downgrade your plan.");
+            return CommandError.DOWNGRADE_NOT_ALLOWED;
         }
 
         final double feeRON = calculateUpgradeFee(currentPlan, newPlan);
-        final double feeInAccountCurrency = ExchangeRateManager.getInstance().
-                convertCurrency("RON", account.getCurrency(), feeRON);
+        final double feeInAccountCurrency = bank.getExchangeRates().
+                convertCurrency(CurrencyRegistry.RON_ID, account.getCurrencyId(), feeRON,
+                        command.getTimestamp());
 
         if (account.getBalance() < feeInAccountCurrency) {
-            throw new IllegalArgumentException("Insufficient funds");
+            return CommandError.INSUFFICIENT_FUNDS;
         }
 
         account.withdrawFunds(feeInAccountCurrency);
         user.setPlan(newPlan);
-        final Transaction upgradeTransaction = new Transaction(
-                command.getTimestamp(),
-                "Upgrade plan",
-                account.getIban(),
-                null,
-                feeInAccountCurrency,
-                account.getCurrency(),
-                null,
-                null,
-                null,
-                null,
-                null,
-                null,
-                user.getPlan(),
-                true,
-                null,
-                null,
-                "upgradePlan"
-        );
-
-        user.addTransaction(upgradeTransaction);
-        account.addTransaction(upgradeTransaction);
+        final Transaction upgradeTransaction = new PlanUpgradeTransaction(
+                command.getTimestamp(), "Upgrade plan", account.getIban(), user.getPlan());
 
-        for (final Account userAccount : user.getAccounts()) {
-            userAccount.addTransaction(upgradeTransaction);
-        }
-    }
+        final int offset = bank.getLedger().append(upgradeTransaction);
+        user.addOffset(offset);
 
-    /**
-     * Găsește utilizatorul care deține contul specificat prin IBAN.
-     *
-     * @param accountIban IBAN-ul contului.
-     * @return Utilizatorul care deține contul sau null dacă nu există.
-     */
-    private User findUserByAccount(final String accountIban) {
-        for (final User user : users) {
-            if (user.getAccountByIBAN(accountIban) != null) {
-                return user;
-            }
+        for (final Account userAccount : user.getAccounts()) {
+            userAccount.addOffset(offset);
         }
-        return null;
+        return CommandError.NONE;
     }
 
     /**
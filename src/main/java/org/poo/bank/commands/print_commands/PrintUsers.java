@@ -1,10 +1,14 @@
 package org.poo.bank.commands.print_commands;
 
+import org.poo.bank.account.Account;
+import org.poo.bank.cards.Card;
+import org.poo.bank.commands.response.AccountOutput;
+import org.poo.bank.commands.response.CardOutput;
+import org.poo.bank.commands.response.UserOutput;
 import org.poo.bank.user.User;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 
 
 public class PrintUsers {
@@ -17,14 +21,27 @@ public class PrintUsers {
     /**
      * Executa comanda de printare a utilizatorilor.
      *
-     * @return Lista de harti cu informatii despre utilizatori
+     * @return Lista cu informatii despre utilizatori
      */
-    public List<Map<String, Object>> execute() {
-        List<Map<String, Object>> result = new ArrayList<>();
+    public List<UserOutput> execute() {
+        List<UserOutput> result = new ArrayList<>(users.size());
         for (User user : users) {
-            result.add(user.toMap());
+            List<AccountOutput> accounts = new ArrayList<>(user.getAccounts().size());
+            for (Account account : user.getAccounts()) {
+                accounts.add(toOutput(account));
+            }
+            result.add(new UserOutput(user.getFirstName(), user.getLastName(), user.getEmail(),
+                    accounts));
         }
         return result;
     }
 
+    private static AccountOutput toOutput(final Account account) {
+        List<CardOutput> cards = new ArrayList<>(account.getCards().size());
+        for (Card card : account.getCards()) {
+            cards.add(new CardOutput(card.getCardNumber(), card.getStatus()));
+        }
+        return new AccountOutput(account.getIban(), account.getBalance(), account.getCurrency(),
+                account.getType(), cards);
+    }
 }
@@ -1,13 +1,11 @@
 package org.poo.bank.commands.report_commands;
 
 import org.poo.bank.account.Account;
+import org.poo.bank.commands.response.ReportOutput;
 import org.poo.bank.transaction.Transaction;
 import org.poo.fileio.CommandInput;
 
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 public final class Report extends AbstractReportCommand {
 
@@ -19,33 +17,21 @@ public final class Report extends AbstractReportCommand {
      * Genereaza un raport pentru tranzactiile dintr-un cont, filtrate pe baza unui
      * interval de timp.
      *
-     * Metoda filtreaza tranzactiile pe baza timestamp-urilor de inceput si sfarsit si
-     * construieste o structura de date care contine datele necesare.
+     * Tranzactiile din interval sunt obtinute din indexul temporal al contului, iar
+     * apoi este construita o structura de date care contine datele necesare.
      *
      * @param account Contul pentru care se genereaza raportul.
      * @param command Comanda care contine intervalul de timp pentru filtrarea tranzactiilor.
-     * @return Un Map care contine detaliile raportului.
+     * @return Raportul contului.
      */
-    protected Map<String, Object> generateReport(final Account account,
-                                                 final CommandInput command) {
+    protected ReportOutput generateReport(final Account account, final CommandInput command) {
         int startTimestamp = command.getStartTimestamp();
         int endTimestamp = command.getEndTimestamp();
 
-        List<Transaction> transactions = account.getTransactions();
-        List<Map<String, Object>> filteredTransactions = new ArrayList<>();
-        for (Transaction transaction : transactions) {
-            if (transaction.getTimestamp() >= startTimestamp
-                    && transaction.getTimestamp() <= endTimestamp) {
-                filteredTransactions.add(transaction.toMap());
-            }
-        }
+        List<Transaction> filteredTransactions =
+                account.getTransactionsBetween(startTimestamp, endTimestamp);
 
-        Map<String, Object> reportDetails = new HashMap<>();
-        reportDetails.put("IBAN", account.getIban());
-        reportDetails.put("balance", account.getBalance());
-        reportDetails.put("currency", account.getCurrency());
-        reportDetails.put("transactions", filteredTransactions);
-
-        return reportDetails;
+        return new ReportOutput(account.getIban(), account.getBalance(), account.getCurrency(),
+                filteredTransactions);
     }
 }
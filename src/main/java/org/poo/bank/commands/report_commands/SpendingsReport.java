@@ -1,9 +1,14 @@
 package org.poo.bank.commands.report_commands;
 
 import org.poo.bank.account.Account;
+import org.poo.bank.commands.response.ReportError;
+import org.poo.bank.commands.response.SpendingsReportOutput;
+import org.poo.bank.commands.response.SpendingsReportOutput.CommerciantTotal;
+import org.poo.bank.transaction.PaymentTransaction;
+import org.poo.bank.transaction.Transaction;
 import org.poo.fileio.CommandInput;
 
-import java.util.Comparator;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -13,25 +18,37 @@ public final class SpendingsReport extends AbstractReportCommand {
         return "spendingsReport";
     }
 
-    protected Map<String, Object> generateReport(final Account account,
-                                                 final CommandInput command) {
+    /**
+     * Genereaza un raport al cheltuielilor in functie de platile online
+     * realizate in intervalul specificat.
+     *
+     * @param account Contul pentru care se genereaza raportul.
+     * @param command Comanda care contine intervalul de timp.
+     * @return Raportul cheltuielilor, cu totalurile per comerciant ordonate dupa nume,
+     * sau o eroare pentru conturile de economii.
+     */
+    protected Object generateReport(final Account account, final CommandInput command) {
         int startTimestamp = command.getStartTimestamp();
         int endTimestamp = command.getEndTimestamp();
 
         if ("savings".equals(account.getType())) {
-            return Map.of(
-                    "error", "This kind of report is not supported for a saving account"
-            );
+            return new ReportError("This kind of report is not supported for a saving account");
         }
 
-        Map<String, Object> report = account.generateSpendingsReport(startTimestamp, endTimestamp);
+        List<Transaction> transactions = new ArrayList<>();
+        for (Transaction t : account.getTransactionsBetween(startTimestamp, endTimestamp)) {
+            if (t instanceof PaymentTransaction) {
+                transactions.add(t);
+            }
+        }
 
-        List<Map<String, Object>> commerciants
-                = (List<Map<String, Object>>) report.get("commerciants");
-        if (commerciants != null) {
-            commerciants.sort(Comparator.comparing(a -> (String) a.get("commerciant")));
+        List<CommerciantTotal> commerciants = new ArrayList<>();
+        for (Map.Entry<String, Double> entry
+                : account.getSpendingByCommerciant(startTimestamp, endTimestamp).entrySet()) {
+            commerciants.add(new CommerciantTotal(entry.getKey(), entry.getValue()));
         }
 
-        return report;
+        return new SpendingsReportOutput(account.getIban(), account.getBalance(),
+                account.getCurrency(), transactions, commerciants);
     }
 }
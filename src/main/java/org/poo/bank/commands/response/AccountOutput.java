@@ -0,0 +1,18 @@
+package org.poo.bank.commands.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+/**
+ * Datele unui cont afisate de comanda printUsers.
+ *
+ * @param iban IBAN-ul contului.
+ * @param balance Soldul contului.
+ * @param currency Moneda contului.
+ * @param type Tipul contului.
+ * @param cards Cardurile contului.
+ */
+public record AccountOutput(@JsonProperty("IBAN") String iban, double balance,
+                            String currency, String type, List<CardOutput> cards) {
+}
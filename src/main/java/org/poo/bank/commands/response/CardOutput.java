@@ -0,0 +1,10 @@
+package org.poo.bank.commands.response;
+
+/**
+ * Datele unui card afisate de comanda printUsers.
+ *
+ * @param cardNumber Numarul cardului.
+ * @param status Statusul cardului.
+ */
+public record CardOutput(String cardNumber, String status) {
+}
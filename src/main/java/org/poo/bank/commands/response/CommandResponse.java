@@ -0,0 +1,30 @@
+package org.poo.bank.commands.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+/**
+ * Raspunsul unei comenzi, asa cum este scris in fisierul de output.
+ * Campul output lipseste din JSON daca este null.
+ *
+ * @param command Numele comenzii.
+ * @param output Rezultatul comenzii.
+ * @param timestamp Timestamp-ul comenzii.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonPropertyOrder({"command", "output", "timestamp"})
+public record CommandResponse(String command, Object output, int timestamp) {
+
+    /**
+     * Construieste raspunsul de eroare al unei comenzi.
+     *
+     * @param command Numele comenzii.
+     * @param description Descrierea erorii.
+     * @param timestamp Timestamp-ul comenzii.
+     * @return Raspunsul cu eroarea data.
+     */
+    public static CommandResponse error(final String command, final String description,
+                                        final int timestamp) {
+        return new CommandResponse(command, new ErrorOutput(description, timestamp), timestamp);
+    }
+}
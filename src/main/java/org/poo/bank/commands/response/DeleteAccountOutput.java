@@ -0,0 +1,36 @@
+package org.poo.bank.commands.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Rezultatul stergerii unui cont. Exact unul dintre campurile success si error
+ * este completat.
+ *
+ * @param success Mesajul de succes.
+ * @param error Mesajul de eroare.
+ * @param timestamp Timestamp-ul comenzii.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record DeleteAccountOutput(String success, String error, int timestamp) {
+
+    /**
+     * Construieste rezultatul unei stergeri reusite.
+     *
+     * @param timestamp Timestamp-ul comenzii.
+     * @return Rezultatul de succes.
+     */
+    public static DeleteAccountOutput deleted(final int timestamp) {
+        return new DeleteAccountOutput("Account deleted", null, timestamp);
+    }
+
+    /**
+     * Construieste rezultatul unei stergeri esuate.
+     *
+     * @param error Motivul pentru care contul nu a fost sters.
+     * @param timestamp Timestamp-ul comenzii.
+     * @return Rezultatul de eroare.
+     */
+    public static DeleteAccountOutput failed(final String error, final int timestamp) {
+        return new DeleteAccountOutput(null, error, timestamp);
+    }
+}
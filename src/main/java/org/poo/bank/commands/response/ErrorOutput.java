@@ -0,0 +1,10 @@
+package org.poo.bank.commands.response;
+
+/**
+ * Descrierea unei erori aparute la executarea unei comenzi.
+ *
+ * @param description Mesajul erorii.
+ * @param timestamp Timestamp-ul comenzii.
+ */
+public record ErrorOutput(String description, int timestamp) {
+}
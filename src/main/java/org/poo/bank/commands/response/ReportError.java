@@ -0,0 +1,9 @@
+package org.poo.bank.commands.response;
+
+/**
+ * Eroarea returnata cand un raport nu poate fi generat pentru un cont.
+ *
+ * @param error Mesajul erorii.
+ */
+public record ReportError(String error) {
+}
@@ -0,0 +1,18 @@
+package org.poo.bank.commands.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.poo.bank.transaction.Transaction;
+
+import java.util.List;
+
+/**
+ * Raportul tranzactiilor unui cont intr-un interval de timp.
+ *
+ * @param iban IBAN-ul contului.
+ * @param balance Soldul contului.
+ * @param currency Moneda contului.
+ * @param transactions Tranzactiile din interval.
+ */
+public record ReportOutput(@JsonProperty("IBAN") String iban, double balance, String currency,
+                           List<Transaction> transactions) {
+}
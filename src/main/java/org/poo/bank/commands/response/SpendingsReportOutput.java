@@ -0,0 +1,29 @@
+package org.poo.bank.commands.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.poo.bank.transaction.Transaction;
+
+import java.util.List;
+
+/**
+ * Raportul cheltuielilor unui cont intr-un interval de timp.
+ *
+ * @param iban IBAN-ul contului.
+ * @param balance Soldul contului.
+ * @param currency Moneda contului.
+ * @param transactions Platile online din interval.
+ * @param commerciants Totalul cheltuit la fiecare comerciant, ordonat dupa nume.
+ */
+public record SpendingsReportOutput(@JsonProperty("IBAN") String iban, double balance,
+                                    String currency, List<Transaction> transactions,
+                                    List<CommerciantTotal> commerciants) {
+
+    /**
+     * Totalul cheltuit la un comerciant.
+     *
+     * @param commerciant Numele comerciantului.
+     * @param total Suma cheltuita.
+     */
+    public record CommerciantTotal(String commerciant, double total) {
+    }
+}
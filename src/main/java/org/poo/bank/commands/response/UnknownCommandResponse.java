@@ -0,0 +1,25 @@
+package org.poo.bank.commands.response;
+
+/**
+ * Raspunsul scris pentru o comanda necunoscuta.
+ *
+ * @param command Numele comenzii.
+ * @param timestamp Timestamp-ul comenzii.
+ * @param type Tipul raspunsului.
+ * @param message Mesajul erorii.
+ */
+public record UnknownCommandResponse(String command, int timestamp, String type,
+                                     String message) {
+
+    /**
+     * Construieste raspunsul pentru o comanda necunoscuta.
+     *
+     * @param command Numele comenzii.
+     * @param timestamp Timestamp-ul comenzii.
+     * @return Raspunsul de eroare.
+     */
+    public static UnknownCommandResponse of(final String command, final int timestamp) {
+        return new UnknownCommandResponse(command, timestamp, "error",
+                "Unknown command: " + command);
+    }
+}
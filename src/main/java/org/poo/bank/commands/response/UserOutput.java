@@ -0,0 +1,15 @@
+package org.poo.bank.commands.response;
+
+import java.util.List;
+
+/**
+ * Datele unui utilizator afisate de comanda printUsers.
+ *
+ * @param firstName Prenumele utilizatorului.
+ * @param lastName Numele utilizatorului.
+ * @param email Email-ul utilizatorului.
+ * @param accounts Conturile utilizatorului.
+ */
+public record UserOutput(String firstName, String lastName, String email,
+                         List<AccountOutput> accounts) {
+}
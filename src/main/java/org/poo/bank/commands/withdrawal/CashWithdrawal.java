@@ -1,13 +1,15 @@
 package org.poo.bank.commands.withdrawal;
 
+import org.poo.bank.Bank;
 import org.poo.bank.account.Account;
-import org.poo.bank.exchange_rates.ExchangeRateManager;
+import org.poo.bank.commands.CommandError;
+import org.poo.bank.exchange_rates.CurrencyRegistry;
 import org.poo.bank.user.User;
-import org.poo.bank.cards.Card;
+import org.poo.bank.cards.CardEntry;
+import org.poo.bank.transaction.CashWithdrawalTransaction;
+import org.poo.bank.transaction.NoticeTransaction;
 import org.poo.bank.transaction.Transaction;
 
-import java.util.List;
-
 public final class CashWithdrawal {
 
     private static final double MAX_FEE_SILVER = 0.001;
@@ -22,73 +24,50 @@ public final class CashWithdrawal {
      * @param email      Adresa de email a utilizatorului.
      * @param location   Locația de unde se efectuează retragerea.
      * @param timestamp  Timpul retragerii.
-     * @param users      Lista cu utilizatorii disponibili.
+     * @param bank       Banca in care se cauta utilizatorul si cardul.
+     * @return {@link CommandError#CARD_NOT_FOUND} daca utilizatorul nu are cardul dat,
+     * altfel {@link CommandError#NONE}; celelalte esecuri sunt trecute in istoric.
      */
-    public static void executeCashWithdrawal(final String cardNumber,
-                                             final double amount, final String email,
-                                             final String location, final int timestamp,
-                                             final List<User> users) {
-        final User user = User.findByEmail(users, email);
+    public static CommandError executeCashWithdrawal(final String cardNumber,
+                                                     final double amount, final String email,
+                                                     final String location, final int timestamp,
+                                                     final Bank bank) {
+        final User user = bank.findUser(email);
         if (user == null) {
-            return;
-        }
-
-        Account account = null;
-        Card card = null;
-        for (final Account acc : user.getAccounts()) {
-            card = acc.getCardByNumber(cardNumber);
-            if (card != null) {
-                account = acc;
-                break;
-            }
+            return CommandError.NONE;
         }
 
-        if (account == null || card == null) {
-            throw new IllegalArgumentException("Card not found");
+        final CardEntry cardEntry = bank.findCard(user, cardNumber);
+        if (cardEntry == null) {
+            return CommandError.CARD_NOT_FOUND;
         }
 
-        if (card.getStatus().equals("frozen")) {
-            return;
+        final Account account = cardEntry.account();
+        if (cardEntry.card().getStatus().equals("frozen")) {
+            return CommandError.NONE;
         }
 
-        String accountCurrency = account.getCurrency();
+        final int accountCurrencyId = account.getCurrencyId();
         double amountToWithdraw = amount;
 
-        if (!accountCurrency.equals("RON")) {
-            final ExchangeRateManager exchangeRateManager = ExchangeRateManager.getInstance();
-            final double exchangeRate = exchangeRateManager.getExchangeRate("RON", accountCurrency);
+        if (accountCurrencyId != CurrencyRegistry.RON_ID) {
+            final double exchangeRate = bank.getExchangeRates().getExchangeRate(
+                    CurrencyRegistry.RON_ID, accountCurrencyId, timestamp);
             if (exchangeRate == 0) {
-                return;
+                return CommandError.NONE;
             }
-            amountToWithdraw = exchangeRateManager.convertCurrency("RON", accountCurrency, amount);
+            amountToWithdraw = exchangeRate * amount;
         }
 
         final double balance = account.getBalance();
         final double minimumBalance = account.getMinimumBalance();
 
         if (balance - amountToWithdraw < minimumBalance) {
-            final Transaction transaction1 = new Transaction(
-                    timestamp,
-                    "Insufficient funds",
-                    null,
-                    null,
-                    0,
-                    account.getCurrency(),
-                    "payment",
-                    cardNumber,
-                    user.getEmail(),
-                    null,
-                    null,
-                    null,
-                    null,
-                    true,
-                    null,
-                    null,
-                    "cashWithdrawalError"
-            );
-            user.addTransaction(transaction1);
-            account.addTransaction(transaction1);
-            return;
+            final Transaction transaction1 = new NoticeTransaction(timestamp, "Insufficient funds");
+            final int offset = bank.getLedger().append(transaction1);
+            user.addOffset(offset);
+            account.addOffset(offset);
+            return CommandError.NONE;
         }
 
         double fee = 0.0;
@@ -119,52 +98,21 @@ public final class CashWithdrawal {
         double totalAmountToWithdraw = amountToWithdraw + fee;
 
         if (balance < totalAmountToWithdraw) {
-            final Transaction transaction2 = new Transaction(
-                    timestamp,
-                    "Insufficient funds for commission",
-                    null,
-                    null,
-                    0,
-                    account.getCurrency(),
-                    "payment",
-                    cardNumber,
-                    user.getEmail(),
-                    null,
-                    null,
-                    null,
-                    null,
-                    true,
-                    null,
-                    null,
-                    "cashWithdrawalError"
-            );
-            user.addTransaction(transaction2);
-            account.addTransaction(transaction2);
-            return;
+            final Transaction transaction2 = new NoticeTransaction(
+                    timestamp, "Insufficient funds for commission");
+            final int offset = bank.getLedger().append(transaction2);
+            user.addOffset(offset);
+            account.addOffset(offset);
+            return CommandError.NONE;
         }
 
         account.withdraw(totalAmountToWithdraw);
 
-        final Transaction cashWithdrawalTransaction = new Transaction(
-                timestamp,
-                "Cash withdrawal of ",
-                null,
-                null,
-                amount,
-                account.getCurrency(),
-                "withdrawal",
-                cardNumber,
-                user.getEmail(),
-                location,
-                null,
-                null,
-                null,
-                true,
-                null,
-                null,
-                "cashWithdrawal"
-        );
-        user.addTransaction(cashWithdrawalTransaction);
-        account.addTransaction(cashWithdrawalTransaction);
+        final Transaction cashWithdrawalTransaction = new CashWithdrawalTransaction(
+                timestamp, "Cash withdrawal of ", amount, location);
+        final int offset = bank.getLedger().append(cashWithdrawalTransaction);
+        user.addOffset(offset);
+        account.addOffset(offset);
+        return CommandError.NONE;
     }
 }
@@ -0,0 +1,75 @@
+package org.poo.bank.commerciant;
+
+import org.poo.fileio.CommerciantInput;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Indexul comerciantilor unei banci. Este construit o singura data, la crearea
+ * bancii, si permite gasirea unui comerciant dupa nume (fara a tine cont de
+ * majuscule), dupa id sau dupa IBAN-ul contului in care primeste plati.
+ */
+public final class CommerciantDirectory {
+    private final Map<String, CommerciantInput> byName = new HashMap<>();
+    private final Map<Integer, CommerciantInput> byId = new HashMap<>();
+    private final Map<String, CommerciantInput> byIban = new HashMap<>();
+
+    /**
+     * Construieste indexul din lista de comercianti si ii inregistreaza in
+     * registrul de comercianti. Daca doi comercianti au aceeasi cheie, este
+     * pastrat primul din lista.
+     *
+     * @param commerciants Comerciantii bancii.
+     * @param registry Registrul de comercianti al rularii.
+     */
+    public CommerciantDirectory(final List<CommerciantInput> commerciants,
+                                final CommerciantRegistry registry) {
+        for (CommerciantInput commerciant : commerciants) {
+            if (commerciant.getCommerciant() != null) {
+                byName.putIfAbsent(normalize(commerciant.getCommerciant()), commerciant);
+                registry.intern(commerciant.getCommerciant());
+            }
+            byId.putIfAbsent(commerciant.getId(), commerciant);
+            if (commerciant.getAccount() != null) {
+                byIban.putIfAbsent(commerciant.getAccount(), commerciant);
+            }
+        }
+    }
+
+    /**
+     * Cauta un comerciant dupa nume, fara a tine cont de majuscule.
+     *
+     * @param name Numele comerciantului.
+     * @return Comerciantul gasit sau null daca nu exista.
+     */
+    public CommerciantInput findByName(final String name) {
+        return name != null ? byName.get(normalize(name)) : null;
+    }
+
+    /**
+     * Cauta un comerciant dupa id.
+     *
+     * @param id Id-ul comerciantului.
+     * @return Comerciantul gasit sau null daca nu exista.
+     */
+    public CommerciantInput findById(final int id) {
+        return byId.get(id);
+    }
+
+    /**
+     * Cauta un comerciant dupa IBAN-ul contului in care primeste plati.
+     *
+     * @param iban IBAN-ul comerciantului.
+     * @return Comerciantul gasit sau null daca nu exista.
+     */
+    public CommerciantInput findByIban(final String iban) {
+        return iban != null ? byIban.get(iban) : null;
+    }
+
+    private static String normalize(final String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+}
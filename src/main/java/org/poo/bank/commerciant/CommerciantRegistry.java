@@ -0,0 +1,52 @@
+package org.poo.bank.commerciant;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registrul comerciantilor unei rulari. Fiecare nume de comerciant, comparat fara
+ * majuscule, primeste un index intreg mic, stabil pe toata durata rularii, astfel
+ * incat contoarele per comerciant sa poata fi tinute in tablouri de intregi.
+ */
+public final class CommerciantRegistry {
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+
+    /**
+     * Returneaza indexul unui comerciant, inregistrandu-l daca nu exista deja.
+     *
+     * @param commerciant Numele comerciantului.
+     * @return Indexul comerciantului sau -1 daca numele este null.
+     */
+    public int intern(final String commerciant) {
+        if (commerciant == null) {
+            return -1;
+        }
+        String name = normalize(commerciant);
+        Integer id = ids.get(name);
+        if (id != null) {
+            return id;
+        }
+        synchronized (ids) {
+            return ids.computeIfAbsent(name, key -> ids.size());
+        }
+    }
+
+    /**
+     * Returneaza indexul unui comerciant deja inregistrat, fara a-l inregistra.
+     *
+     * @param commerciant Numele comerciantului.
+     * @return Indexul comerciantului sau -1 daca acesta nu este cunoscut.
+     */
+    public int lookup(final String commerciant) {
+        if (commerciant == null) {
+            return -1;
+        }
+        Integer id = ids.get(normalize(commerciant));
+        return id != null ? id : -1;
+    }
+
+    private static String normalize(final String commerciant) {
+        return commerciant.toLowerCase(Locale.ROOT);
+    }
+}
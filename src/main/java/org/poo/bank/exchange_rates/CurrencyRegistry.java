@@ -0,0 +1,92 @@
+package org.poo.bank.exchange_rates;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registrul monedelor unei rulari. Fiecare cod de moneda primeste un index intreg
+ * mic, stabil pe toata durata rularii, astfel incat monedele sa poata fi comparate
+ * prin indexul lor in loc de comparatii de string-uri fara majuscule. RON este
+ * inregistrat primul, asa ca are acelasi index in orice registru.
+ */
+public final class CurrencyRegistry {
+    public static final String RON = "RON";
+    public static final int RON_ID = 0;
+
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private final List<String> codes = new ArrayList<>();
+
+    /**
+     * Creeaza un registru care contine doar moneda RON.
+     */
+    public CurrencyRegistry() {
+        intern(RON);
+    }
+
+    /**
+     * Returneaza indexul unei monede, inregistrand-o daca nu exista deja.
+     *
+     * @param currency Codul monedei.
+     * @return Indexul monedei sau -1 daca codul este null.
+     */
+    public int intern(final String currency) {
+        if (currency == null) {
+            return -1;
+        }
+        String code = normalize(currency);
+        Integer id = ids.get(code);
+        if (id != null) {
+            return id;
+        }
+        synchronized (codes) {
+            return ids.computeIfAbsent(code, key -> {
+                codes.add(key);
+                return codes.size() - 1;
+            });
+        }
+    }
+
+    /**
+     * Returneaza indexul unei monede deja inregistrate, fara a o inregistra.
+     *
+     * @param currency Codul monedei.
+     * @return Indexul monedei sau -1 daca moneda nu este cunoscuta.
+     */
+    public int lookup(final String currency) {
+        if (currency == null) {
+            return -1;
+        }
+        Integer id = ids.get(normalize(currency));
+        return id != null ? id : -1;
+    }
+
+    /**
+     * Returneaza codul monedei cu indexul dat.
+     *
+     * @param id Indexul monedei.
+     * @return Codul monedei.
+     */
+    public String getCode(final int id) {
+        synchronized (codes) {
+            return codes.get(id);
+        }
+    }
+
+    /**
+     * Returneaza numarul de monede inregistrate.
+     *
+     * @return Numarul de monede.
+     */
+    public int size() {
+        synchronized (codes) {
+            return codes.size();
+        }
+    }
+
+    private static String normalize(final String currency) {
+        return currency.toUpperCase(Locale.ROOT);
+    }
+}
@@ -23,6 +23,22 @@ public final class ExchangeRate {
         this.timestamp = exchangeInput.getTimestamp();
     }
 
+    /**
+     * Construieste un curs de schimb din valorile date.
+     *
+     * @param from Moneda sursa.
+     * @param to Moneda tinta.
+     * @param rate Rata de schimb.
+     * @param timestamp Momentul de la care cursul este valabil.
+     */
+    public ExchangeRate(final String from, final String to, final double rate,
+                        final int timestamp) {
+        this.from = from;
+        this.to = to;
+        this.rate = rate;
+        this.timestamp = timestamp;
+    }
+
     /**
      * Returneaza un string cu detaliile cursului de schimb.
      *
@@ -42,22 +58,6 @@ public final class ExchangeRate {
                 + '}';
     }
 
-    /**
-     * Converteste o suma de bani dintr-o moneda intr-o alta moneda,
-     * folosind rata de schimb actuala.
-     *
-     * @param from   Moneda sursa din care se face conversia.
-     * @param to     Moneda tinta in care se va converti suma.
-     * @param amount Suma de bani care se doreste a fi convertita.
-     * @return       Suma convertita in moneda tinta, conform ratei de schimb actuale.
-     * @throws IllegalArgumentException Daca nu exista o rata de schimb valabila
-     * intre monedele specificate.
-     */
-    public static double convert(final String from, final String to, final double amount) {
-        ExchangeRateManager manager = ExchangeRateManager.getInstance();
-        return manager.convertCurrency(from, to, amount);
-    }
-
     public String getFrom() {
         return from;
     }
@@ -2,117 +2,75 @@ package org.poo.bank.exchange_rates;
 
 import org.poo.fileio.ExchangeInput;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.List;
-import java.util.Map;
-import java.util.Queue;
-import java.util.Collections;
+import java.util.concurrent.atomic.AtomicReference;
 
+/**
+ * Publica instantanee imutabile ale cursurilor de schimb. Fiecare actualizare
+ * construieste un instantaneu nou si il inlocuieste atomic pe cel curent, astfel
+ * incat cititorii nu vad niciodata o tabela de rate partial construita.
+ */
 public final class ExchangeRateManager {
-    private static ExchangeRateManager instance;
-    private final List<ExchangeRate> exchangeRates = new ArrayList<>();
-    private final Map<String, Map<String, Double>> exchangeGraph = new HashMap<>();
+    private final CurrencyRegistry currencies;
+    private final AtomicReference<ExchangeRateSnapshot> snapshot;
 
-    private ExchangeRateManager() { }
+    /**
+     * Creeaza un manager fara cursuri de schimb.
+     * @param currencies registrul monedelor rularii
+     */
+    public ExchangeRateManager(final CurrencyRegistry currencies) {
+        this.currencies = currencies;
+        this.snapshot = new AtomicReference<>(ExchangeRateSnapshot.empty(currencies));
+    }
 
     /**
-     * Returneaza instanta unica a ExchangeRateManager.
-     * @return instanta ExchangeRateManager
+     * Creeaza un manager si incarca ratele de schimb date.
+     * @param currencies registrul monedelor rularii
+     * @param exchangeInputs lista de inputuri care contine ratele de schimb.
      */
-    public static ExchangeRateManager getInstance() {
-        if (instance == null) {
-            instance = new ExchangeRateManager();
-        }
-        return instance;
+    public ExchangeRateManager(final CurrencyRegistry currencies,
+                               final List<ExchangeInput> exchangeInputs) {
+        this(currencies);
+        loadExchangeRates(exchangeInputs);
     }
 
     /**
-     * Incarca ratele de schimb dintr-o lista de inputuri si
-     * construieste graful de rate de schimb.
+     * Incarca ratele de schimb dintr-o lista de inputuri si publica un
+     * instantaneu nou, cu cate o versiune pentru fiecare timestamp distinct.
      * @param exchangeInputs lista de inputuri care contine ratele de schimb.
      */
     public void loadExchangeRates(final List<ExchangeInput> exchangeInputs) {
-        exchangeRates.clear();
-        exchangeGraph.clear();
-        for (final ExchangeInput input : exchangeInputs) {
-            ExchangeRate rate = new ExchangeRate(input);
-            exchangeRates.add(rate);
-            addToGraph(rate.getFrom(), rate.getTo(), rate.getRate());
-        }
+        snapshot.set(ExchangeRateSnapshot.of(currencies, exchangeInputs));
     }
 
     /**
-     * Adauga o rata de schimb in graful de rate.
-     * @param from moneda de origine
-     * @param to moneda tinta
-     * @param rate rata de schimb
+     * Adauga o versiune noua a cursurilor, valabila incepand cu timestamp-ul dat,
+     * si publica instantaneul rezultat.
+     * @param timestamp timestamp-ul de la care versiunea este valabila
+     * @param rates ratele noi sau modificate
+     * @throws IllegalArgumentException daca timestamp-ul este mai vechi decat
+     * ultima versiune
      */
-    private void addToGraph(final String from, final String to, final double rate) {
-        exchangeGraph.putIfAbsent(from, new HashMap<>());
-        exchangeGraph.get(from).put(to, rate);
-
-        exchangeGraph.putIfAbsent(to, new HashMap<>());
-        if (rate > 0) {
-            double inverseRate = 1.0 / rate;
-            exchangeGraph.get(to).put(from, inverseRate);
-        }
+    public void addRateVersion(final int timestamp, final List<ExchangeRate> rates) {
+        snapshot.updateAndGet(current -> current.withVersion(timestamp, rates));
     }
 
-
     /**
-     * Converteste o suma dintr-o moneda in alta folosind rata de schimb.
+     * Schimba o singura rata din versiunea cea mai recenta a cursurilor si
+     * publica instantaneul rezultat.
      * @param from moneda de origine
      * @param to moneda tinta
-     * @param amount suma de convertit
-     * @return suma convertita
+     * @param rate noua rata de schimb
      */
-    public double convertCurrency(final String from, final String to, final double amount) {
-        double rate = getExchangeRate(from, to);
-        return amount * rate;
+    public void updateRate(final String from, final String to, final double rate) {
+        snapshot.updateAndGet(current -> current.withRate(from, to, rate));
     }
 
     /**
-     * Obtine rata de schimb dintre două monede.
-     * Daca nu exista o rata directa se va cauta o rata indirecta folosind un algoritm de BFS.
-     * @param from moneda de origine
-     * @param to moneda tintă
-     * @return rata de schimb
+     * Returneaza instantaneul publicat in acest moment.
+     * @return instantaneul curent al cursurilor de schimb
      */
-    public double getExchangeRate(final String from, final String to) {
-        if (from.equalsIgnoreCase(to)) {
-            return 1.0;
-        }
-
-        Queue<String> queue = new LinkedList<>();
-        Map<String, Double> visited = new HashMap<>();
-        queue.add(from);
-        visited.put(from, 1.0);
-
-        while (!queue.isEmpty()) {
-            String current = queue.poll();
-            double currentRate = visited.get(current);
-
-            Map<String, Double> neighbors = exchangeGraph.getOrDefault(current,
-                    Collections.emptyMap());
-            for (Map.Entry<String, Double> entry : neighbors.entrySet()) {
-                String neighbor = entry.getKey();
-                double rate = entry.getValue();
-
-                if (!visited.containsKey(neighbor)) {
-                    double newRate = currentRate * rate;
-                    visited.put(neighbor, newRate);
-
-                    if (neighbor.equalsIgnoreCase(to)) {
-                        return newRate;
-                    }
-                    queue.add(neighbor);
-                }
-            }
-        }
-
-        return 0;
+    public ExchangeRateSnapshot getSnapshot() {
+        return snapshot.get();
     }
-
 }
@@ -0,0 +1,220 @@
+package org.poo.bank.exchange_rates;
+
+import org.poo.fileio.ExchangeInput;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Instantaneu imutabil al cursurilor de schimb. Contine toate versiunile
+ * cursurilor, ordonate dupa timestamp-ul de la care sunt valabile, si poate fi
+ * citit concurent de oricate fire de executie fara sincronizare. Monedele sunt
+ * identificate prin indexul lor din registrul de monede al rularii.
+ */
+public final class ExchangeRateSnapshot {
+    private final CurrencyRegistry currencies;
+    private final List<RateVersion> versions;
+
+    private ExchangeRateSnapshot(final CurrencyRegistry currencies,
+                                 final List<RateVersion> versions) {
+        this.currencies = currencies;
+        this.versions = versions;
+    }
+
+    /**
+     * Returneaza un instantaneu fara cursuri de schimb.
+     * @param currencies registrul monedelor rularii
+     * @return instantaneul gol
+     */
+    public static ExchangeRateSnapshot empty(final CurrencyRegistry currencies) {
+        return new ExchangeRateSnapshot(currencies, List.of());
+    }
+
+    /**
+     * Construieste un instantaneu din ratele de intrare, cu cate o versiune
+     * pentru fiecare timestamp distinct. Monedele ratelor sunt inregistrate in
+     * registrul dat.
+     * @param currencies registrul monedelor rularii
+     * @param exchangeInputs lista de inputuri care contine ratele de schimb
+     * @return instantaneul construit
+     */
+    public static ExchangeRateSnapshot of(final CurrencyRegistry currencies,
+                                          final List<ExchangeInput> exchangeInputs) {
+        List<ExchangeRate> sorted = new ArrayList<>();
+        for (final ExchangeInput input : exchangeInputs) {
+            sorted.add(new ExchangeRate(input));
+        }
+        sorted.sort(Comparator.comparingInt(ExchangeRate::getTimestamp));
+
+        ExchangeRateSnapshot snapshot = empty(currencies);
+        int start = 0;
+        for (int i = 1; i <= sorted.size(); i++) {
+            if (i == sorted.size()
+                    || sorted.get(i).getTimestamp() != sorted.get(start).getTimestamp()) {
+                snapshot = snapshot.withVersion(sorted.get(start).getTimestamp(),
+                        sorted.subList(start, i));
+                start = i;
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * Returneaza un instantaneu nou care contine si versiunea data de cursuri.
+     * Ratele noi le suprascriu pe cele din ultima versiune, iar tabela de rate
+     * este recalculata doar pentru monedele afectate. Instantaneul curent
+     * ramane neschimbat.
+     * @param timestamp timestamp-ul de la care versiunea este valabila
+     * @param rates ratele noi sau modificate
+     * @return instantaneul nou
+     * @throws IllegalArgumentException daca timestamp-ul este mai vechi decat
+     * ultima versiune
+     */
+    public ExchangeRateSnapshot withVersion(final int timestamp,
+                                            final List<ExchangeRate> rates) {
+        RateVersion latest = latestVersion();
+        if (latest != null && timestamp < latest.getValidFrom()) {
+            throw new IllegalArgumentException("Exchange rate versions must be added in order");
+        }
+
+        List<RateVersion> next = new ArrayList<>(versions);
+        RateVersion version = RateVersion.build(timestamp, latest, rates, currencies);
+        if (latest != null && timestamp == latest.getValidFrom()) {
+            next.set(next.size() - 1, version);
+        } else {
+            next.add(version);
+        }
+        return new ExchangeRateSnapshot(currencies, List.copyOf(next));
+    }
+
+    /**
+     * Returneaza un instantaneu nou in care o singura rata din ultima versiune
+     * este schimbata. Sunt recalculate doar ratele derivate prin perechea data.
+     * @param from moneda de origine
+     * @param to moneda tinta
+     * @param rate noua rata de schimb
+     * @return instantaneul nou
+     */
+    public ExchangeRateSnapshot withRate(final String from, final String to,
+                                         final double rate) {
+        RateVersion latest = latestVersion();
+        if (latest == null) {
+            return withVersion(0, List.of(new ExchangeRate(from, to, rate, 0)));
+        }
+
+        List<RateVersion> next = new ArrayList<>(versions);
+        next.set(next.size() - 1, latest.withRate(from, to, rate, currencies));
+        return new ExchangeRateSnapshot(currencies, List.copyOf(next));
+    }
+
+    private RateVersion latestVersion() {
+        return versions.isEmpty() ? null : versions.get(versions.size() - 1);
+    }
+
+    /**
+     * Cauta binar versiunea cursurilor valabila la un anumit moment. Pentru
+     * momente anterioare primei versiuni se foloseste prima versiune.
+     * @param timestamp momentul pentru care se cauta versiunea
+     * @return versiunea valabila sau null daca nu exista cursuri incarcate
+     */
+    private RateVersion versionAt(final int timestamp) {
+        if (versions.isEmpty()) {
+            return null;
+        }
+        int low = 0;
+        int high = versions.size() - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (versions.get(mid).getValidFrom() <= timestamp) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return versions.get(low);
+    }
+
+    /**
+     * Converteste o suma dintr-o moneda in alta folosind rata de schimb cea mai recenta.
+     * @param from moneda de origine
+     * @param to moneda tinta
+     * @param amount suma de convertit
+     * @return suma convertita
+     */
+    public double convertCurrency(final String from, final String to, final double amount) {
+        double rate = getExchangeRate(from, to);
+        return amount * rate;
+    }
+
+    /**
+     * Converteste o suma intre doua monede identificate prin indexul lor,
+     * folosind rata de schimb cea mai recenta.
+     * @param fromId indexul monedei de origine
+     * @param toId indexul monedei tinta
+     * @param amount suma de convertit
+     * @return suma convertita
+     */
+    public double convertCurrency(final int fromId, final int toId, final double amount) {
+        return amount * getExchangeRate(fromId, toId);
+    }
+
+    /**
+     * Converteste o suma intre doua monede identificate prin indexul lor,
+     * folosind rata valabila la momentul dat.
+     * @param fromId indexul monedei de origine
+     * @param toId indexul monedei tinta
+     * @param amount suma de convertit
+     * @param timestamp momentul conversiei
+     * @return suma convertita
+     */
+    public double convertCurrency(final int fromId, final int toId, final double amount,
+                                  final int timestamp) {
+        return amount * getExchangeRate(fromId, toId, timestamp);
+    }
+
+    /**
+     * Obtine rata de schimb cea mai recenta dintre două monede.
+     * @param from moneda de origine
+     * @param to moneda tintă
+     * @return rata de schimb sau 0 daca nu exista o rata intre cele doua monede
+     */
+    public double getExchangeRate(final String from, final String to) {
+        if (from.equalsIgnoreCase(to)) {
+            return 1.0;
+        }
+        return getExchangeRate(currencies.lookup(from), currencies.lookup(to));
+    }
+
+    /**
+     * Obtine rata de schimb cea mai recenta dintre două monede identificate prin indexul lor.
+     * @param fromId indexul monedei de origine
+     * @param toId indexul monedei tinta
+     * @return rata de schimb sau 0 daca nu exista o rata intre cele doua monede
+     */
+    public double getExchangeRate(final int fromId, final int toId) {
+        return getExchangeRate(fromId, toId, latestVersion());
+    }
+
+    /**
+     * Obtine rata de schimb dintre două monede valabila la momentul dat.
+     * @param fromId indexul monedei de origine
+     * @param toId indexul monedei tinta
+     * @param timestamp momentul pentru care se cere rata
+     * @return rata de schimb sau 0 daca nu exista o rata intre cele doua monede
+     */
+    public double getExchangeRate(final int fromId, final int toId, final int timestamp) {
+        return getExchangeRate(fromId, toId, versionAt(timestamp));
+    }
+
+    private double getExchangeRate(final int fromId, final int toId,
+                                   final RateVersion version) {
+        if (fromId == toId) {
+            return 1.0;
+        }
+        if (version == null) {
+            return 0;
+        }
+        return version.getRate(fromId, toId);
+    }
+}
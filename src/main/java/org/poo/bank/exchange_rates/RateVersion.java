@@ -0,0 +1,282 @@
+package org.poo.bank.exchange_rates;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+
+/**
+ * O versiune a cursurilor de schimb, valabila incepand cu un anumit timestamp.
+ * Contine graful ratelor directe si tabela densa cu ratele dintre oricare doua
+ * monede, ambele indexate dupa indexul monedelor din {@link CurrencyRegistry}-ul
+ * rularii. Pentru
+ * fiecare moneda sursa se pastreaza si arborele BFS din care provin ratele, astfel
+ * incat schimbarea unei singure rate sa recalculeze doar perechile care o folosesc.
+ */
+final class RateVersion {
+    private static final int[] NO_ORDER = new int[0];
+
+    private final int validFrom;
+    private final Map<Integer, Map<Integer, Double>> graph;
+    private final double[][] table;
+    private final int[][] parents;
+    private final int[][] orders;
+
+    private RateVersion(final int validFrom, final Map<Integer, Map<Integer, Double>> graph,
+                        final double[][] table, final int[][] parents, final int[][] orders) {
+        this.validFrom = validFrom;
+        this.graph = graph;
+        this.table = table;
+        this.parents = parents;
+        this.orders = orders;
+    }
+
+    /**
+     * Construieste o versiune noua pornind de la versiunea anterioara si de la
+     * ratele care se schimba. Sunt recalculate doar liniile monedelor aflate in
+     * aceeasi componenta a grafului cu o rata modificata; restul liniilor sunt
+     * preluate din versiunea anterioara.
+     *
+     * @param validFrom timestamp-ul de la care versiunea este valabila
+     * @param previous versiunea anterioara sau null pentru prima versiune
+     * @param rates ratele noi sau modificate
+     * @param currencies registrul in care sunt inregistrate monedele ratelor
+     * @return versiunea construita
+     */
+    static RateVersion build(final int validFrom, final RateVersion previous,
+                             final List<ExchangeRate> rates,
+                             final CurrencyRegistry currencies) {
+        Map<Integer, Map<Integer, Double>> graph = new HashMap<>();
+        if (previous != null) {
+            for (Map.Entry<Integer, Map<Integer, Double>> entry : previous.graph.entrySet()) {
+                graph.put(entry.getKey(), new HashMap<>(entry.getValue()));
+            }
+        }
+
+        Set<Integer> changed = new HashSet<>();
+        for (final ExchangeRate rate : rates) {
+            int fromId = currencies.intern(rate.getFrom());
+            int toId = currencies.intern(rate.getTo());
+            addToGraph(graph, fromId, toId, rate.getRate());
+            changed.add(fromId);
+            changed.add(toId);
+        }
+
+        Set<Integer> affected = previous == null ? graph.keySet() : component(graph, changed);
+
+        int size = currencies.size();
+        double[][] table = new double[size][];
+        int[][] parents = new int[size][];
+        int[][] orders = new int[size][];
+        double[] emptyRow = new double[size];
+        int[] emptyParents = new int[size];
+        Arrays.fill(emptyParents, -1);
+        Arrays.fill(table, emptyRow);
+        Arrays.fill(parents, emptyParents);
+        Arrays.fill(orders, NO_ORDER);
+
+        for (final int sourceId : graph.keySet()) {
+            if (!affected.contains(sourceId) && sourceId < previous.table.length) {
+                table[sourceId] = resize(previous.table[sourceId], size);
+                parents[sourceId] = resize(previous.parents[sourceId], size);
+                orders[sourceId] = previous.orders[sourceId];
+            } else {
+                traverse(graph, sourceId, table, parents, orders);
+            }
+        }
+        return new RateVersion(validFrom, graph, table, parents, orders);
+    }
+
+    /**
+     * Returneaza o versiune noua in care rata dintre doua monede este schimbata.
+     * Daca perechea exista deja, structura grafului si arborii BFS raman aceiasi,
+     * asa ca sunt recalculate doar ratele derivate prin aceasta pereche. Altfel
+     * componenta afectata este reconstruita complet.
+     *
+     * @param from moneda de origine
+     * @param to moneda tinta
+     * @param rate noua rata de schimb
+     * @param currencies registrul monedelor
+     * @return versiunea actualizata, valabila de la acelasi timestamp
+     */
+    RateVersion withRate(final String from, final String to, final double rate,
+                         final CurrencyRegistry currencies) {
+        int fromId = currencies.lookup(from);
+        int toId = currencies.lookup(to);
+        Map<Integer, Double> fromEdges = graph.get(fromId);
+        Map<Integer, Double> toEdges = graph.get(toId);
+        boolean sameShape = fromEdges != null && fromEdges.containsKey(toId)
+                && (rate <= 0 || toEdges.containsKey(fromId));
+        if (!sameShape) {
+            return build(validFrom, this,
+                    List.of(new ExchangeRate(from, to, rate, validFrom)), currencies);
+        }
+
+        Map<Integer, Map<Integer, Double>> nextGraph = new HashMap<>(graph);
+        Map<Integer, Double> nextFromEdges = new HashMap<>(fromEdges);
+        nextFromEdges.put(toId, rate);
+        nextGraph.put(fromId, nextFromEdges);
+        if (rate > 0) {
+            Map<Integer, Double> nextToEdges = new HashMap<>(toEdges);
+            nextToEdges.put(fromId, 1.0 / rate);
+            nextGraph.put(toId, nextToEdges);
+        }
+
+        double[][] nextTable = table.clone();
+        for (int sourceId = 0; sourceId < table.length; sourceId++) {
+            int[] parent = parents[sourceId];
+            boolean usesEdge = parent[toId] == fromId || (rate > 0 && parent[fromId] == toId);
+            if (usesEdge) {
+                nextTable[sourceId] = relax(nextGraph, sourceId, table[sourceId],
+                        fromId, toId, rate > 0);
+            }
+        }
+        return new RateVersion(validFrom, nextGraph, nextTable, parents, orders);
+    }
+
+    /**
+     * Recalculeaza, in ordinea BFS a sursei, ratele monedelor al caror drum din
+     * arbore trece prin perechea schimbata.
+     */
+    private double[] relax(final Map<Integer, Map<Integer, Double>> nextGraph,
+                           final int sourceId,
+                           final double[] row, final int fromId, final int toId,
+                           final boolean inverseChanged) {
+        double[] next = row.clone();
+        int[] parent = parents[sourceId];
+        boolean[] dirty = new boolean[row.length];
+        for (int node : orders[sourceId]) {
+            int up = parent[node];
+            if (up < 0) {
+                continue;
+            }
+            dirty[node] = dirty[up] || (node == toId && up == fromId)
+                    || (inverseChanged && node == fromId && up == toId);
+            if (dirty[node]) {
+                double upRate = up == sourceId ? 1.0 : next[up];
+                next[node] = upRate * nextGraph.get(up).get(node);
+            }
+        }
+        return next;
+    }
+
+    /**
+     * Adauga o rata de schimb si inversa ei in graful de rate.
+     * @param graph graful de rate
+     * @param from indexul monedei de origine
+     * @param to indexul monedei tinta
+     * @param rate rata de schimb
+     */
+    private static void addToGraph(final Map<Integer, Map<Integer, Double>> graph,
+                                   final int from, final int to, final double rate) {
+        graph.putIfAbsent(from, new HashMap<>());
+        graph.get(from).put(to, rate);
+
+        graph.putIfAbsent(to, new HashMap<>());
+        if (rate > 0) {
+            double inverseRate = 1.0 / rate;
+            graph.get(to).put(from, inverseRate);
+        }
+    }
+
+    /**
+     * Returneaza toate monedele accesibile din monedele de start.
+     */
+    private static Set<Integer> component(final Map<Integer, Map<Integer, Double>> graph,
+                                          final Set<Integer> start) {
+        Set<Integer> reached = new HashSet<>(start);
+        Queue<Integer> queue = new LinkedList<>(start);
+        while (!queue.isEmpty()) {
+            for (Integer neighbor : graph.getOrDefault(queue.poll(),
+                    Collections.emptyMap()).keySet()) {
+                if (reached.add(neighbor)) {
+                    queue.add(neighbor);
+                }
+            }
+        }
+        return reached;
+    }
+
+    /**
+     * Parcurge graful (BFS) din moneda sursa si completeaza linia acesteia din
+     * tabela de rate, impreuna cu arborele BFS si ordinea de vizitare.
+     */
+    private static void traverse(final Map<Integer, Map<Integer, Double>> graph,
+                                 final int sourceId, final double[][] table, final int[][] parents,
+                                 final int[][] orders) {
+        int size = table.length;
+        double[] row = new double[size];
+        int[] parent = new int[size];
+        Arrays.fill(parent, -1);
+        int[] order = new int[graph.size()];
+        int visitedCount = 0;
+
+        boolean[] visited = new boolean[size];
+        Queue<Integer> queue = new LinkedList<>();
+        queue.add(sourceId);
+        visited[sourceId] = true;
+        row[sourceId] = 1.0;
+
+        while (!queue.isEmpty()) {
+            int current = queue.poll();
+            double currentRate = row[current];
+
+            Map<Integer, Double> neighbors = graph.getOrDefault(current,
+                    Collections.emptyMap());
+            for (Map.Entry<Integer, Double> entry : neighbors.entrySet()) {
+                int neighbor = entry.getKey();
+                if (!visited[neighbor]) {
+                    visited[neighbor] = true;
+                    row[neighbor] = currentRate * entry.getValue();
+                    parent[neighbor] = current;
+                    order[visitedCount++] = neighbor;
+                    queue.add(neighbor);
+                }
+            }
+        }
+        row[sourceId] = 0;
+
+        table[sourceId] = row;
+        parents[sourceId] = parent;
+        orders[sourceId] = Arrays.copyOf(order, visitedCount);
+    }
+
+    private static double[] resize(final double[] row, final int size) {
+        return row.length == size ? row : Arrays.copyOf(row, size);
+    }
+
+    private static int[] resize(final int[] parent, final int size) {
+        if (parent.length == size) {
+            return parent;
+        }
+        int[] resized = Arrays.copyOf(parent, size);
+        Arrays.fill(resized, parent.length, size, -1);
+        return resized;
+    }
+
+    /**
+     * Returneaza timestamp-ul de la care versiunea este valabila.
+     * @return timestamp-ul de inceput
+     */
+    int getValidFrom() {
+        return validFrom;
+    }
+
+    /**
+     * Returneaza rata dintre doua monede diferite, identificate prin index.
+     * @param fromId indexul monedei de origine
+     * @param toId indexul monedei tinta
+     * @return rata de schimb sau 0 daca nu exista
+     */
+    double getRate(final int fromId, final int toId) {
+        if (fromId < 0 || toId < 0 || fromId >= table.length || toId >= table.length) {
+            return 0;
+        }
+        return table[fromId][toId];
+    }
+}
@@ -0,0 +1,47 @@
+package org.poo.bank.money;
+
+/**
+ * Rotunjiri pentru sume de bani, fara alocari. Rotunjirea este HALF_UP,
+ * calculata exact pe valoarea binara a operandului (ca {@code new BigDecimal(value)}),
+ * folosind {@link Math#fma} pentru a decide cazurile aflate la jumatate.
+ */
+public final class Money {
+    private static final double[] POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8
+    };
+
+    private Money() {
+    }
+
+    /**
+     * Rotunjeste HALF_UP o valoare la numarul dat de zecimale. Rezultatul este
+     * acelasi cu {@code new BigDecimal(value).setScale(decimals, HALF_UP).doubleValue()}.
+     *
+     * @param value Valoarea de rotunjit.
+     * @param decimals Numarul de zecimale, cel mult 8.
+     * @return Valoarea rotunjita.
+     */
+    public static double roundHalfUp(final double value, final int decimals) {
+        double scale = POWERS_OF_TEN[decimals];
+        return roundProduct(value, scale) / scale;
+    }
+
+    /**
+     * Rotunjeste HALF_UP (departe de zero) produsul exact {@code a * b}. Produsul
+     * calculat in double poate cadea de partea gresita a unei jumatati, asa ca
+     * rezultatul este corectat comparand produsul exact, obtinut cu fma, cu
+     * jumatatile vecine.
+     */
+    private static long roundProduct(final double a, final double b) {
+        if (a < 0) {
+            return -roundProduct(-a, b);
+        }
+        double rounded = Math.floor(a * b + 0.5);
+        if (Math.fma(a, b, -(rounded - 0.5)) < 0) {
+            rounded -= 1;
+        } else if (Math.fma(a, b, -(rounded + 0.5)) >= 0) {
+            rounded += 1;
+        }
+        return (long) rounded;
+    }
+}
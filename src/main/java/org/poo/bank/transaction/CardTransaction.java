@@ -0,0 +1,26 @@
+package org.poo.bank.transaction;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+
+/**
+ * Crearea sau distrugerea unui card.
+ *
+ * @param timestamp Momentul tranzactiei.
+ * @param description Descrierea tranzactiei.
+ * @param card Numarul cardului.
+ * @param cardHolder Email-ul detinatorului cardului.
+ * @param account IBAN-ul contului pe care este emis cardul.
+ */
+public record CardTransaction(int timestamp, String description, String card,
+                              String cardHolder, String account) implements Transaction {
+
+    @Override
+    public void writeFields(final JsonGenerator gen) throws IOException {
+        writeHeader(gen);
+        gen.writeStringField("card", card);
+        gen.writeStringField("cardHolder", cardHolder);
+        gen.writeStringField("account", account);
+    }
+}
@@ -0,0 +1,29 @@
+package org.poo.bank.transaction;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+
+/**
+ * O retragere de numerar cu cardul. Locatia retragerii tine locul comerciantului.
+ *
+ * @param timestamp Momentul retragerii.
+ * @param description Inceputul descrierii; suma este adaugata la afisare.
+ * @param amount Suma retrasa.
+ * @param location Locatia retragerii.
+ */
+public record CashWithdrawalTransaction(int timestamp, String description, double amount,
+                                        String location) implements Transaction {
+
+    @Override
+    public String commerciant() {
+        return location != null ? location : "";
+    }
+
+    @Override
+    public void writeFields(final JsonGenerator gen) throws IOException {
+        gen.writeNumberField("timestamp", timestamp);
+        gen.writeStringField("description", description + String.format("%.1f", amount));
+        gen.writeNumberField("amount", amount);
+    }
+}
@@ -0,0 +1,24 @@
+package org.poo.bank.transaction;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+
+/**
+ * Dobanda adaugata unui cont de economii.
+ *
+ * @param timestamp Momentul adaugarii.
+ * @param description Descrierea tranzactiei.
+ * @param amount Dobanda adaugata.
+ * @param currency Moneda contului.
+ */
+public record InterestTransaction(int timestamp, String description, double amount,
+                                  String currency) implements Transaction {
+
+    @Override
+    public void writeFields(final JsonGenerator gen) throws IOException {
+        writeHeader(gen);
+        gen.writeNumberField("amount", amount);
+        gen.writeStringField("currency", currency);
+    }
+}
@@ -0,0 +1,17 @@
+package org.poo.bank.transaction;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+/**
+ * Tranzactie interna a unui cont (depuneri, retrageri, adaugarea sau stergerea
+ * unui card), care nu are campuri in output.
+ *
+ * @param timestamp Momentul tranzactiei.
+ * @param description Descrierea tranzactiei.
+ */
+public record InternalTransaction(int timestamp, String description) implements Transaction {
+
+    @Override
+    public void writeFields(final JsonGenerator gen) {
+    }
+}
@@ -0,0 +1,86 @@
+package org.poo.bank.transaction;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Registrul central, doar cu adaugare, al tranzactiilor unei banci. Pozitia
+ * unei intrari in registru da ordinea globala in care tranzactiile au fost
+ * inregistrate. Utilizatorii si conturile
+ * retin doar pozitiile tranzactiilor lor, in {@link OffsetList}-uri; o tranzactie
+ * care apartine mai multor proprietari este inregistrata o singura data, iar
+ * fiecare dintre ei retine aceeasi pozitie.
+ *
+ * Registrul poate fi folosit din mai multe fire de executie: comenzile care
+ * ruleaza in paralel adauga tranzactii in acelasi registru. Adaugarile sunt
+ * serializate, iar citirile nu iau lock: dimensiunea este publicata dupa intrare,
+ * asa ca un cititor care vede o pozitie vede si tabloul care o contine.
+ */
+public final class Ledger {
+    private static final int INITIAL_CAPACITY = 64;
+
+    private volatile Transaction[] entries = new Transaction[INITIAL_CAPACITY];
+    private volatile int size;
+
+    /**
+     * Inregistreaza o tranzactie la finalul registrului si returneaza pozitia ei.
+     *
+     * @param transaction Tranzactia de inregistrat.
+     * @return Pozitia tranzactiei in registru.
+     */
+    public synchronized int append(final Transaction transaction) {
+        int offset = size;
+        Transaction[] current = entries;
+        if (offset == current.length) {
+            current = Arrays.copyOf(current, offset * 2);
+            entries = current;
+        }
+        current[offset] = transaction;
+        size = offset + 1;
+        return offset;
+    }
+
+    /**
+     * Returneaza tranzactia de la o pozitie din registru.
+     *
+     * @param offset Pozitia tranzactiei.
+     * @return Tranzactia inregistrata la pozitia data.
+     */
+    public Transaction get(final int offset) {
+        if (offset < 0 || offset >= size) {
+            throw new IndexOutOfBoundsException("Ledger offset " + offset);
+        }
+        return entries[offset];
+    }
+
+    /**
+     * Returneaza numarul de tranzactii inregistrate.
+     *
+     * @return Dimensiunea registrului.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returneaza o vedere nemodificabila asupra tranzactiilor de la pozitiile date.
+     * Vederea urmareste lista de pozitii, asa ca vede si tranzactiile adaugate ulterior.
+     *
+     * @param offsets Pozitiile tranzactiilor.
+     * @return Lista tranzactiilor, in ordinea pozitiilor.
+     */
+    public List<Transaction> view(final OffsetList offsets) {
+        return new AbstractList<>() {
+            @Override
+            public Transaction get(final int index) {
+                return Ledger.this.get(offsets.get(index));
+            }
+
+            @Override
+            public int size() {
+                return offsets.size();
+            }
+        };
+    }
+}
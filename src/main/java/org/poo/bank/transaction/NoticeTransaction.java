@@ -0,0 +1,20 @@
+package org.poo.bank.transaction;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+
+/**
+ * Tranzactie care afiseaza doar momentul si descrierea: crearea unui cont,
+ * schimbarea dobanzii si erorile platilor, transferurilor sau retragerilor.
+ *
+ * @param timestamp Momentul tranzactiei.
+ * @param description Descrierea tranzactiei.
+ */
+public record NoticeTransaction(int timestamp, String description) implements Transaction {
+
+    @Override
+    public void writeFields(final JsonGenerator gen) throws IOException {
+        writeHeader(gen);
+    }
+}
@@ -0,0 +1,62 @@
+package org.poo.bank.transaction;
+
+import java.util.Arrays;
+
+/**
+ * Lista compacta de pozitii din {@link Ledger}, tinuta intr-un tablou de intregi.
+ */
+public final class OffsetList {
+    private static final int INITIAL_CAPACITY = 8;
+
+    private int[] offsets = new int[INITIAL_CAPACITY];
+    private int size;
+
+    /**
+     * Adauga o pozitie la finalul listei.
+     *
+     * @param offset Pozitia din registru.
+     */
+    public void add(final int offset) {
+        add(size, offset);
+    }
+
+    /**
+     * Insereaza o pozitie la indexul dat, mutand la dreapta elementele urmatoare.
+     *
+     * @param index Indexul la care se insereaza.
+     * @param offset Pozitia din registru.
+     */
+    public void add(final int index, final int offset) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index " + index + ", size " + size);
+        }
+        if (size == offsets.length) {
+            offsets = Arrays.copyOf(offsets, size * 2);
+        }
+        System.arraycopy(offsets, index, offsets, index + 1, size - index);
+        offsets[index] = offset;
+        size++;
+    }
+
+    /**
+     * Returneaza pozitia de la indexul dat.
+     *
+     * @param index Indexul din lista.
+     * @return Pozitia din registru.
+     */
+    public int get(final int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + ", size " + size);
+        }
+        return offsets[index];
+    }
+
+    /**
+     * Returneaza numarul de pozitii din lista.
+     *
+     * @return Dimensiunea listei.
+     */
+    public int size() {
+        return size;
+    }
+}
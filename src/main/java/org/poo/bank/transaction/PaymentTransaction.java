@@ -0,0 +1,24 @@
+package org.poo.bank.transaction;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+
+/**
+ * O plata online cu cardul la un comerciant.
+ *
+ * @param timestamp Momentul platii.
+ * @param description Descrierea platii.
+ * @param commerciant Numele comerciantului.
+ * @param amount Suma platita, in moneda contului.
+ */
+public record PaymentTransaction(int timestamp, String description, String commerciant,
+                                 double amount) implements Transaction {
+
+    @Override
+    public void writeFields(final JsonGenerator gen) throws IOException {
+        writeHeader(gen);
+        gen.writeStringField("commerciant", commerciant);
+        gen.writeNumberField("amount", amount);
+    }
+}
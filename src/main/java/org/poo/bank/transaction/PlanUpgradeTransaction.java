@@ -0,0 +1,24 @@
+package org.poo.bank.transaction;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+
+/**
+ * Trecerea unui utilizator la un plan superior.
+ *
+ * @param timestamp Momentul schimbarii.
+ * @param description Descrierea schimbarii.
+ * @param accountIBAN Contul din care a fost platita taxa.
+ * @param newPlanType Noul plan al utilizatorului.
+ */
+public record PlanUpgradeTransaction(int timestamp, String description, String accountIBAN,
+                                     String newPlanType) implements Transaction {
+
+    @Override
+    public void writeFields(final JsonGenerator gen) throws IOException {
+        writeHeader(gen);
+        gen.writeStringField("accountIBAN", accountIBAN);
+        gen.writeStringField("newPlanType", newPlanType);
+    }
+}
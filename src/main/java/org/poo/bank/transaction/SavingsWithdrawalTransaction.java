@@ -0,0 +1,26 @@
+package org.poo.bank.transaction;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+
+/**
+ * O retragere reusita dintr-un cont de economii.
+ *
+ * @param timestamp Momentul retragerii.
+ * @param description Descrierea retragerii.
+ * @param amount Suma retrasa.
+ * @param currency Moneda contului de economii.
+ * @param senderIBAN IBAN-ul contului de economii.
+ */
+public record SavingsWithdrawalTransaction(int timestamp, String description, double amount,
+                                           String currency, String senderIBAN)
+        implements Transaction {
+
+    @Override
+    public void writeFields(final JsonGenerator gen) throws IOException {
+        writeHeader(gen);
+        gen.writeStringField("amount", amount + " " + currency);
+        gen.writeStringField("senderIBAN", senderIBAN);
+    }
+}
@@ -0,0 +1,52 @@
+package org.poo.bank.transaction;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Partea unui cont dintr-o plata impartita.
+ *
+ * @param timestamp Momentul platii.
+ * @param description Descrierea platii.
+ * @param currency Moneda platii.
+ * @param involvedAccounts Conturile implicate.
+ * @param splitPaymentType Tipul impartirii.
+ * @param amountForUsers Suma datorata de fiecare cont.
+ */
+public record SplitPaymentTransaction(int timestamp, String description, String currency,
+                                      List<String> involvedAccounts, String splitPaymentType,
+                                      List<Double> amountForUsers) implements Transaction {
+
+    @Override
+    public void writeFields(final JsonGenerator gen) throws IOException {
+        writeHeader(gen);
+        gen.writeStringField("currency", currency);
+        gen.writeFieldName("involvedAccounts");
+        if (involvedAccounts == null) {
+            gen.writeNull();
+        } else {
+            gen.writeStartArray();
+            for (String account : involvedAccounts) {
+                gen.writeString(account);
+            }
+            gen.writeEndArray();
+        }
+        gen.writeStringField("splitPaymentType", splitPaymentType);
+        gen.writeFieldName("amountForUsers");
+        if (amountForUsers == null) {
+            gen.writeNull();
+        } else {
+            gen.writeStartArray();
+            for (Double value : amountForUsers) {
+                if (value == null) {
+                    gen.writeNull();
+                } else {
+                    gen.writeNumber(value);
+                }
+            }
+            gen.writeEndArray();
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package org.poo.bank.transaction;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * Serializeaza o tranzactie ca obiect JSON, delegand scrierea campurilor
+ * tipului concret al acesteia.
+ */
+public final class TransactionSerializer extends StdSerializer<Transaction> {
+    private static final long serialVersionUID = 1L;
+
+    public TransactionSerializer() {
+        super(Transaction.class);
+    }
+
+    @Override
+    public void serialize(final Transaction transaction, final JsonGenerator gen,
+                          final SerializerProvider provider) throws IOException {
+        gen.writeStartObject();
+        transaction.writeFields(gen);
+        gen.writeEndObject();
+    }
+}
@@ -0,0 +1,30 @@
+package org.poo.bank.transaction;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+
+/**
+ * Un transfer intre doua conturi, vazut de expeditor sau de destinatar.
+ *
+ * @param timestamp Momentul tranzactiei.
+ * @param description Descrierea transferului.
+ * @param senderIBAN IBAN-ul expeditorului.
+ * @param receiverIBAN IBAN-ul destinatarului.
+ * @param amount Suma transferata.
+ * @param currency Moneda sumei.
+ * @param transferType "sent" sau "received".
+ */
+public record TransferTransaction(int timestamp, String description, String senderIBAN,
+                                  String receiverIBAN, double amount, String currency,
+                                  String transferType) implements Transaction {
+
+    @Override
+    public void writeFields(final JsonGenerator gen) throws IOException {
+        writeHeader(gen);
+        gen.writeStringField("senderIBAN", senderIBAN);
+        gen.writeStringField("receiverIBAN", receiverIBAN);
+        gen.writeStringField("amount", amount + " " + currency);
+        gen.writeStringField("transferType", transferType);
+    }
+}
@@ -1,6 +1,8 @@
 package org.poo.bank.user;
 
 import org.poo.bank.account.Account;
+import org.poo.bank.transaction.Ledger;
+import org.poo.bank.transaction.OffsetList;
 import org.poo.bank.transaction.Transaction;
 import org.poo.fileio.UserInput;
 import java.time.LocalDate;
@@ -10,7 +12,6 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 public final class User {
     private final String firstName;
@@ -18,12 +19,14 @@ public final class User {
     private final String email;
     private final List<Account> accounts = new ArrayList<>();
     private final Map<String, String> aliases = new HashMap<>();
-    private final List<Transaction> transactions = new ArrayList<>();
+    private final Ledger ledger;
+    private final OffsetList transactionOffsets = new OffsetList();
     private final String birthDate;
     private final String occupation;
     private String plan;
 
-    public User(final UserInput input) {
+    public User(final UserInput input, final Ledger ledger) {
+        this.ledger = ledger;
         this.firstName = input.getFirstName();
         this.lastName = input.getLastName();
         this.email = input.getEmail();
@@ -61,94 +64,71 @@ public final class User {
         aliases.put(alias, iban);
     }
 
-    public List<Transaction> getTransactions() {
-        return transactions;
-    }
-
     /**
-     * Adaug o tranzactie in lista utilizatorului.
+     * Returnez tranzactiile utilizatorului, ordonate dupa timestamp. La timestamp-uri
+     * egale se pastreaza ordinea adaugarii.
      *
-     * @param transaction Tranzactia ce trebuie adaugata
+     * @return Lista tranzactiilor, rezolvate din registrul bancii, care nu poate fi modificata
      */
-    public void addTransaction(final Transaction transaction) {
-        transactions.add(transaction);
+    public List<Transaction> getTransactions() {
+        return ledger.view(transactionOffsets);
     }
 
     /**
-     * Adaug un cont utilizatorului.
+     * Inregistrez o tranzactie in registrul bancii si o adaug in lista
+     * utilizatorului.
      *
-     * @param account Contul care trebuie adaugat
+     * @param transaction Tranzactia ce trebuie adaugata
      */
-    public void addAccount(final Account account) {
-        accounts.add(account);
+    public void addTransaction(final Transaction transaction) {
+        addOffset(ledger.append(transaction));
     }
 
     /**
-     * Elimin un cont din lista utilizatorului.
+     * Retin pozitia unei tranzactii deja inregistrate in registrul bancii, pastrand
+     * lista ordonata dupa timestamp. O tranzactie sosita in ordine este adaugata la
+     * final; una mai veche este inserata dupa ultima tranzactie cu timestamp mai mic
+     * sau egal.
      *
-     * @param account Contul care trebuie eliminat
+     * @param offset Pozitia tranzactiei in registrul bancii
      */
-    public void removeAccount(final Account account) {
-        accounts.remove(account);
-    }
+    public void addOffset(final int offset) {
+        int timestamp = ledger.get(offset).timestamp();
+        int last = transactionOffsets.size() - 1;
+        if (last < 0 || ledger.get(transactionOffsets.get(last)).timestamp() <= timestamp) {
+            transactionOffsets.add(offset);
+            return;
+        }
 
-    /**
-     * Cauta un cont dupa IBAN.
-     *
-     * @param iban IBAN-ul cautat
-     * @return Contul cu IBAN-ul respectiv sau null daca nu exista
-     */
-    public Account getAccountByIBAN(final String iban) {
-        for (Account account : accounts) {
-            if (account.getIban().equals(iban)) {
-                return account;
+        int low = 0;
+        int high = last;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (ledger.get(transactionOffsets.get(mid)).timestamp() <= timestamp) {
+                low = mid + 1;
+            } else {
+                high = mid;
             }
         }
-        return null;
-
+        transactionOffsets.add(low, offset);
     }
 
     /**
-     * Caut un utilizator dupa email.
+     * Adaug un cont utilizatorului.
      *
-     * @param users Lista de utilizatori
-     * @param email Email-ul cautat
-     * @return Utilizatorul care corespunde email-ului sau null
+     * @param account Contul care trebuie adaugat
      */
-    public static User findByEmail(final List<User> users, final String email) {
-        for (User user : users) {
-            if (user.getEmail().equals(email)) {
-                return user;
-            }
-        }
-        return null;
+    public void addAccount(final Account account) {
+        accounts.add(account);
     }
 
     /**
-     * Caut un utilizator dupa numarul cardului.
+     * Elimin un cont din lista utilizatorului.
      *
-     * @param users Lista de utilizatori
-     * @param cardNumber Numarul cardului cautat
-     * @return Utilizatorul care corespunde numarului de card sau null
+     * @param account Contul care trebuie eliminat
      */
-    public static User findByCardNumber(final List<User> users, final String cardNumber) {
-        for (User user : users) {
-            for (Account account : user.getAccounts()) {
-                if (account.getCardByNumber(cardNumber) != null) {
-                    return user;
-                }
-            }
-        }
-        return null;
-    }
-
-    public Map<String, Object> toMap() {
-        Map<String, Object> map = new HashMap<>();
-        map.put("firstName", firstName);
-        map.put("lastName", lastName);
-        map.put("email", email);
-        map.put("accounts", accounts.stream().map(Account::toMap).collect(Collectors.toList()));
-        return map;
+    public void removeAccount(final Account account) {
+        accounts.remove(account);
     }
 
     /**
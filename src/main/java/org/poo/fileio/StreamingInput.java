@@ -0,0 +1,99 @@
+package org.poo.fileio;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Citeste fisierul de intrare in flux, cu un JsonParser. Utilizatorii,
+ * comerciantii si cursurile de schimb sunt citite la inceput, iar comenzile
+ * sunt extrase pe rand, astfel incat memoria folosita nu depinde de numarul
+ * de comenzi. Sectiunea "commands" trebuie sa fie ultima din fisier.
+ */
+public final class StreamingInput implements Closeable {
+    private final ObjectMapper objectMapper;
+    private final JsonParser parser;
+    private boolean inCommands;
+
+    /**
+     * Deschide fisierul de intrare pentru citire in flux.
+     *
+     * @param objectMapper mapper-ul folosit pentru elementele individuale
+     * @param file fisierul de intrare
+     * @throws IOException daca fisierul nu poate fi deschis
+     */
+    public StreamingInput(final ObjectMapper objectMapper, final File file) throws IOException {
+        this.objectMapper = objectMapper;
+        this.parser = objectMapper.getFactory().createParser(file);
+    }
+
+    /**
+     * Citeste toate sectiunile de dinaintea comenzilor si se opreste la
+     * inceputul listei de comenzi.
+     *
+     * @return datele de intrare, fara comenzi
+     * @throws IOException daca fisierul nu este un JSON valid
+     */
+    public ObjectInput readHeader() throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new IOException("Input must be a JSON object");
+        }
+
+        ObjectInput header = new ObjectInput();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if (value == JsonToken.VALUE_NULL) {
+                continue;
+            }
+            switch (field) {
+                case "users" -> header.setUsers(objectMapper.readValue(parser,
+                        UserInput[].class));
+                case "commerciants" -> header.setCommerciants(objectMapper.readValue(parser,
+                        CommerciantInput[].class));
+                case "exchangeRates" -> header.setExchangeRates(objectMapper.readValue(parser,
+                        ExchangeInput[].class));
+                case "commands" -> {
+                    if (value != JsonToken.START_ARRAY) {
+                        throw new IOException("Commands must be a JSON array");
+                    }
+                    inCommands = true;
+                    return header;
+                }
+                default -> parser.skipChildren();
+            }
+        }
+        return header;
+    }
+
+    /**
+     * Citeste urmatoarea comanda din fisier.
+     *
+     * @return comanda citita sau null daca nu mai exista comenzi
+     * @throws IOException daca fisierul nu este un JSON valid sau daca dupa
+     * comenzi mai urmeaza alte sectiuni
+     */
+    public CommandInput nextCommand() throws IOException {
+        if (!inCommands) {
+            return null;
+        }
+        if (parser.nextToken() == JsonToken.START_OBJECT) {
+            return objectMapper.readValue(parser, CommandInput.class);
+        }
+
+        inCommands = false;
+        if (parser.nextToken() != JsonToken.END_OBJECT) {
+            throw new IOException("Commands must be the last section of the input");
+        }
+        return null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        parser.close();
+    }
+}
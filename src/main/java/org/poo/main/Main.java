@@ -1,25 +1,31 @@
 package org.poo.main;
 
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectWriter;
-import com.fasterxml.jackson.databind.node.ArrayNode;
 import org.poo.bank.commands.CommandHandler;
+import org.poo.bank.commands.CommandScheduler;
 import org.poo.checker.Checker;
 import org.poo.checker.CheckerConstants;
 import org.poo.fileio.CommandInput;
 import org.poo.fileio.ObjectInput;
+import org.poo.fileio.StreamingInput;
 import org.poo.bank.Bank;
-import org.poo.bank.exchange_rates.ExchangeRateManager;
-import org.poo.utils.Utils;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * The entry point to this homework. It runs the checker that tests your implementation.
@@ -54,14 +60,23 @@ public final class Main {
                 sorted(Comparator.comparingInt(Main::fileConsumer))
                 .toList();
 
-        for (File file : sortedFiles) {
-            String filepath = CheckerConstants.OUT_PATH + file.getName();
-            File out = new File(filepath);
-            boolean isCreated = out.createNewFile();
-            if (isCreated) {
-                action(file.getName(), filepath);
+        List<Future<Void>> runs = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (File file : sortedFiles) {
+                String filepath = CheckerConstants.OUT_PATH + file.getName();
+                File out = new File(filepath);
+                boolean isCreated = out.createNewFile();
+                if (isCreated) {
+                    runs.add(executor.submit(() -> {
+                        action(file.getName(), filepath);
+                        return null;
+                    }));
+                }
             }
         }
+        for (Future<Void> run : runs) {
+            awaitRun(run);
+        }
 
         Checker.calculateScore();
     }
@@ -73,25 +88,65 @@ public final class Main {
      */
     public static void action(final String filePath1,
                               final String filePath2) throws IOException {
+        action(filePath1, filePath2, false);
+    }
+
+    /**
+     * Runs the commands of an input file, writing the results to the output file
+     * in input order. Commands that touch disjoint accounts run concurrently.
+     *
+     * @param filePath1 for input file
+     * @param filePath2 for output file
+     * @param compact whether to write the output without pretty printing
+     * @throws IOException in case of exceptions to reading / writing
+     */
+    public static void action(final String filePath1, final String filePath2,
+                              final boolean compact) throws IOException {
         ObjectMapper objectMapper = new ObjectMapper();
         File file = new File(CheckerConstants.TESTS_PATH + filePath1);
-        ObjectInput inputData = objectMapper.readValue(file, ObjectInput.class);
+        ObjectWriter objectWriter = compact ? objectMapper.writer()
+                : objectMapper.writerWithDefaultPrettyPrinter();
 
-        ExchangeRateManager exchangeRateManager = ExchangeRateManager.getInstance();
-        exchangeRateManager.loadExchangeRates(List.of(inputData.getExchangeRates()));
+        try (StreamingInput input = new StreamingInput(objectMapper, file);
+             JsonGenerator output = objectWriter.createGenerator(new File(filePath2),
+                     JsonEncoding.UTF8)) {
+            ObjectInput inputData = input.readHeader();
+            Bank bank = new Bank(inputData);
 
-        ArrayNode output = objectMapper.createArrayNode();
-        Bank bank = new Bank(inputData);
+            CommandHandler commandHandler = new CommandHandler(bank, objectMapper, output);
 
-        CommandHandler commandHandler = new CommandHandler(bank, objectMapper);
-
-        for (CommandInput command : inputData.getCommands()) {
-            output = commandHandler.handleCommand(command, output);
+            output.writeStartArray();
+            try (CommandScheduler scheduler = new CommandScheduler(bank, commandHandler)) {
+                CommandInput command;
+                while ((command = input.nextCommand()) != null) {
+                    scheduler.submit(command);
+                }
+            }
+            output.writeEndArray();
         }
+    }
 
-        ObjectWriter objectWriter = objectMapper.writerWithDefaultPrettyPrinter();
-        objectWriter.writeValue(new File(filePath2), output);
-        Utils.resetRandom();
+    /**
+     * Waits for the run of an input file, rethrowing its failure.
+     *
+     * @param run the submitted run
+     * @throws IOException if the run failed to read or write a file
+     */
+    private static void awaitRun(final Future<Void> run) throws IOException {
+        try {
+            run.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException ioException) {
+                throw ioException;
+            }
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
     }
 
     /**